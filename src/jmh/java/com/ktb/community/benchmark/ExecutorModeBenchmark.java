@@ -0,0 +1,97 @@
+package com.ktb.community.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// 기본 Tomcat 설정(플랫폼 스레드 200개)과 virtual thread 모드의 처리량, 요청별 p99 비교
+// 요청 하나는 인증 조회, 게시글 조회, 카운터 조회, 이미지 조회처럼 DB를 4번 기다리는 작업으로 흉내냄
+// 요청은 첫 DB 작업부터 끝날 때까지 커넥션을 잡고 있으므로(open-in-view), Hikari 풀 크기의 semaphore를 얻은 뒤에만 DB를 기다림
+// 결과의 ops/s에 concurrency를 곱하면 초당 처리한 요청 수, p50/p99는 iteration마다 출력
+// 실제 요청 경로로 비교하려면 VIRTUAL_THREADS_ENABLED=false / true 로 각각 ./gradlew loadTest 를 실행해서 endpoint별 결과를 비교
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExecutorModeBenchmark {
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int DB_CALLS_PER_REQUEST = 4;
+    private static final long DB_CALL_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"1000", "5000"})
+    public int concurrency;
+
+    // Hikari 기본 maximum-pool-size(10)와 부하 테스트 프로필의 크기(20)
+    @Param({"10", "20"})
+    public int poolSize;
+
+    private ExecutorService executor;
+    private Semaphore connections;
+    private long[] latencies;
+    private final List<long[]> iterationLatencies = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.executor = "virtual".equals(this.mode)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        this.latencies = new long[this.concurrency];
+        // Hikari처럼 먼저 기다린 요청부터 커넥션을 받도록 공정 모드로 생성
+        this.connections = new Semaphore(this.poolSize, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printPercentiles() {
+        long[] all = this.iterationLatencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        this.iterationLatencies.clear();
+        if (all.length == 0) {
+            return;
+        }
+        System.out.printf("%n[%s, concurrency=%d, pool=%d] requests=%d p50=%.1fms p99=%.1fms%n", this.mode, this.concurrency, this.poolSize, all.length,
+                all[(int) (all.length * 0.50)] / 1_000_000.0, all[Math.min(all.length - 1, (int) (all.length * 0.99))] / 1_000_000.0);
+    }
+
+    // concurrency개의 요청을 동시에 보내고 모두 끝날 때까지 기다림
+    @Benchmark
+    public void burst(Blackhole blackhole) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(this.concurrency);
+        AtomicInteger index = new AtomicInteger();
+        for (int i = 0; i < this.concurrency; i++) {
+            long submittedAt = System.nanoTime();
+            this.executor.execute(() -> {
+                // 풀이 비어 있으면 커넥션을 얻을 때까지 스레드가 블로킹됨
+                this.connections.acquireUninterruptibly();
+                try {
+                    for (int call = 0; call < DB_CALLS_PER_REQUEST; call++) {
+                        // JDBC 응답을 기다리는 동안 스레드가 블로킹되는 상황
+                        LockSupport.parkNanos(DB_CALL_NANOS);
+                    }
+                } finally {
+                    this.connections.release();
+                }
+                this.latencies[index.getAndIncrement()] = System.nanoTime() - submittedAt;
+                done.countDown();
+            });
+        }
+        done.await();
+        this.iterationLatencies.add(this.latencies.clone());
+        blackhole.consume(this.latencies);
+    }
+}
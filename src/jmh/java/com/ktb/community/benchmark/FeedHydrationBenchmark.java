@@ -0,0 +1,108 @@
+package com.ktb.community.benchmark;
+
+import com.ktb.community.CommunityApplication;
+import com.ktb.community.entity.Post;
+import com.ktb.community.repository.CountRepository;
+import com.ktb.community.repository.PostRepository;
+import com.ktb.community.repository.projection.PostCountView;
+import com.ktb.community.repository.projection.PostSummaryView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 게시글 목록 한 페이지를 읽는 비용 비교 (MySQL 호환 모드의 H2 인메모리 DB)
+// entity : Post를 user와 fetch join으로 영속성 컨텍스트에 올리고, 카운터는 IN 쿼리로 따로 조회 (프로젝션 도입 전 방식)
+// projection : 목록에 필요한 컬럼과 카운터를 PostSummaryView로 한 번에 조회 (작성자 닉네임은 AuthorCache에서 채움)
+// 두 경우 모두 서비스와 같이 읽기 전용 트랜잭션 안에서 실행
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FeedHydrationBenchmark {
+    private static final int POSTS = 10_000;
+    private static final int USERS = 100;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private PostRepository postRepository;
+    private CountRepository countRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.context = new SpringApplicationBuilder(CommunityApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "jwt.secret=YmVuY2htYXJrLXNlY3JldC1rZXktZm9yLWNvbW11bml0eS1iZW5jaG1hcmtzLW9ubHk=",
+                        "logging.level.root=warn",
+                        "logging.level.org.hibernate.SQL=warn")
+                .run();
+        this.postRepository = this.context.getBean(PostRepository.class);
+        this.countRepository = this.context.getBean(CountRepository.class);
+        this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(this.context.getBean(EntityManagerFactory.class));
+        this.readOnly = new TransactionTemplate(this.context.getBean(PlatformTransactionManager.class));
+        this.readOnly.setReadOnly(true);
+        seed(this.context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[]{"bench" + i + "@test.com", "password", "bench" + i, Timestamp.valueOf(now)});
+        }
+        jdbcTemplate.batchUpdate("insert into user (email, password, nickname, created_at) values (?, ?, ?, ?)", users);
+        List<Long> userIds = jdbcTemplate.queryForList("select user_id from user order by user_id", Long.class);
+
+        List<Object[]> posts = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) {
+            posts.add(new Object[]{userIds.get(i % USERS), "title " + i, "content of post " + i, Timestamp.valueOf(now.minusSeconds(POSTS - i))});
+        }
+        jdbcTemplate.batchUpdate("insert into post (user_id, title, content, created_at) values (?, ?, ?, ?)", posts);
+        jdbcTemplate.update("insert into count (post_id, like_count, view_count, comment_count) select post_id, 0, 0, 0 from post");
+    }
+
+    @Benchmark
+    public List<PostCountView> entity() {
+        return this.readOnly.execute(status -> {
+            List<Post> posts = this.entityManager.createQuery(
+                            "select p from Post p join fetch p.user where p.deletedAt is null order by p.createdAt desc, p.id desc", Post.class)
+                    .setMaxResults(this.pageSize)
+                    .getResultList();
+            List<Long> postIds = posts.stream().map(Post::getId).toList();
+            return this.countRepository.findCountViewsByPostIdIn(postIds);
+        });
+    }
+
+    @Benchmark
+    public List<PostSummaryView> projection() {
+        return this.readOnly.execute(status ->
+                this.postRepository.findByDeletedAtIsNullOrderByCreatedAtDescIdDesc(PageRequest.of(0, this.pageSize)));
+    }
+}
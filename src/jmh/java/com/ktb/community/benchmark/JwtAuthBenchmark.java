@@ -0,0 +1,53 @@
+package com.ktb.community.benchmark;
+
+import com.ktb.community.jwt.JwtPrincipal;
+import com.ktb.community.jwt.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Key;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+// 인증된 요청 하나를 처리할 때 드는 JWT 비용 비교
+// legacy : 예전 필터의 validateToken + extractEmailFromToken, 서비스의 extractUserIdFromToken (지금은 제거됨)
+//          호출마다 parser를 새로 만들고 서명을 다시 검증 (요청당 3번)
+// parseOnce : 공유 parser로 한 번만 검증하고 claim을 principal로 넘김
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthBenchmark {
+    private static final String SECRET = "dGVzdC1zZWNyZXQta2V5LWZvci1jb21tdW5pdHktdGVzdHMtMzItYnl0ZXMtbG9uZw==";
+
+    private Key key;
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        this.key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET));
+        this.jwtUtil = new JwtUtil(SECRET, 3_600_000L, 3_600_000L, null, null);
+        this.token = this.jwtUtil.generateAccessToken(1L, "bench@test.com");
+    }
+
+    private Claims legacyParse() {
+        return Jwts.parserBuilder().setSigningKey(this.key).build().parseClaimsJws(this.token).getBody();
+    }
+
+    @Benchmark
+    public Long legacy() {
+        // validateToken -> extractEmailFromToken -> extractUserIdFromToken
+        legacyParse();
+        String email = legacyParse().get("email", String.class);
+        Long userId = Long.parseLong(legacyParse().getSubject());
+        return email != null ? userId : null;
+    }
+
+    @Benchmark
+    public Long parseOnce() {
+        JwtPrincipal principal = this.jwtUtil.parseAndVerify(this.token);
+        return principal.userId();
+    }
+}
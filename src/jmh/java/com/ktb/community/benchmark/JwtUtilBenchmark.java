@@ -0,0 +1,66 @@
+package com.ktb.community.benchmark;
+
+import com.ktb.community.jwt.JwtPrincipal;
+import com.ktb.community.jwt.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Key;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+// JwtUtil의 토큰 발급, 검증, claim 추출 비용
+// legacy* : 지금은 제거된, 호출마다 parser를 새로 만들어 검증하던 방식과 비교하기 위해 벤치마크 안에서 직접 파싱
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilBenchmark {
+    private static final String SECRET = "dGVzdC1zZWNyZXQta2V5LWZvci1jb21tdW5pdHktdGVzdHMtMzItYnl0ZXMtbG9uZw==";
+
+    private Key key;
+    private JwtUtil jwtUtil;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        this.key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET));
+        this.jwtUtil = new JwtUtil(SECRET, 3_600_000L, 1_209_600_000L, null, null);
+        this.accessToken = this.jwtUtil.generateAccessToken(1L, "bench@test.com");
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return this.jwtUtil.generateAccessToken(1L, "bench@test.com");
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return this.jwtUtil.generateRefreshToken(1L);
+    }
+
+    private Claims legacyParse() {
+        return Jwts.parserBuilder().setSigningKey(this.key).build().parseClaimsJws(this.accessToken).getBody();
+    }
+
+    @Benchmark
+    public Claims legacyValidate() {
+        return legacyParse();
+    }
+
+    @Benchmark
+    public JwtPrincipal parseAndVerify() {
+        return this.jwtUtil.parseAndVerify(this.accessToken);
+    }
+
+    @Benchmark
+    public Long legacyExtractUserId() {
+        return Long.parseLong(legacyParse().getSubject());
+    }
+
+    @Benchmark
+    public String legacyExtractEmail() {
+        return legacyParse().get("email", String.class);
+    }
+}
@@ -0,0 +1,51 @@
+package com.ktb.community.benchmark;
+
+import com.ktb.community.util.PasswordPolicy;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// 비밀번호 형식 검사와 BCrypt 비용
+// legacyRegex는 호출마다 String.matches로 정규식을 컴파일하던 이전 구현
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PasswordBenchmark {
+    private static final String LEGACY_REGEX = "^(?=.*[a-z])(?=.*\\d)(?=.*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>/?]).{8,}$";
+
+    @Param({"password123!", "short"})
+    public String password;
+
+    // SecurityConfig와 같은 기본 cost(10)
+    private BCryptPasswordEncoder passwordEncoder;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        this.passwordEncoder = new BCryptPasswordEncoder();
+        this.encoded = this.passwordEncoder.encode(this.password);
+    }
+
+    @Benchmark
+    public boolean precompiledPattern() {
+        return PasswordPolicy.isValid(this.password);
+    }
+
+    @Benchmark
+    public boolean legacyRegex() {
+        return this.password.matches(LEGACY_REGEX);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String bcryptEncode() {
+        return this.passwordEncoder.encode(this.password);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean bcryptMatches() {
+        return this.passwordEncoder.matches(this.password, this.encoded);
+    }
+}
@@ -0,0 +1,47 @@
+package com.ktb.community.benchmark;
+
+import com.ktb.community.search.PostSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// 게시글 100만 개를 색인한 상태에서 검색 한 번(첫 페이지 20개)의 비용
+// 단어는 순위에 반비례하는 빈도(Zipf에 가까운 분포)로 뽑아서 w1, w2처럼 순위가 높은 단어일수록 posting list가 긺
+// common : 아주 긴 목록 두 개의 교집합
+// mixed : 긴 목록과 짧은 목록의 교집합, 짧은 목록이 이끌고 긴 목록은 skip pointer로 건너뜀
+// single : 긴 목록 하나를 끝까지 읽으며 상위 결과 선택
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostSearchBenchmark {
+    private static final int DOCUMENTS = 1_000_000;
+    private static final int VOCABULARY = 10_000;
+    private static final int WORDS_PER_DOCUMENT = 12;
+
+    @Param({"w1 w2", "w1 w500", "w3"})
+    public String query;
+
+    private PostSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.index = new PostSearchIndex(null, new SimpleMeterRegistry(), Runnable::run, 1000);
+        Random random = new Random(42);
+        StringBuilder content = new StringBuilder();
+        for (long postId = 1; postId <= DOCUMENTS; postId++) {
+            content.setLength(0);
+            for (int i = 0; i < WORDS_PER_DOCUMENT; i++) {
+                // 1 ~ VOCABULARY 사이에서 순위가 낮을수록 자주 나오도록 log-uniform으로 선택
+                content.append(" w").append((int) Math.pow(VOCABULARY, random.nextDouble()));
+            }
+            this.index.indexAfterCommit(postId, "title", content.toString());
+        }
+    }
+
+    @Benchmark
+    public PostSearchIndex.SearchResult search() {
+        return this.index.search(this.query, null, 20);
+    }
+}
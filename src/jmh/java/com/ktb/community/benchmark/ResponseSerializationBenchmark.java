@@ -0,0 +1,81 @@
+package com.ktb.community.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.ktb.community.dto.response.ApiResponseDto;
+import com.ktb.community.dto.response.CommentResponseDto;
+import com.ktb.community.dto.response.CursorCommentResponseDto;
+import com.ktb.community.dto.response.CursorPageResponseDto;
+import com.ktb.community.dto.response.PostResponseDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// 목록 응답 DTO를 만들고 ApiResponseDto 페이지를 JSON으로 직렬화하는 비용
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseSerializationBenchmark {
+    @Param({"5", "20", "50"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private LocalDateTime createdAt;
+    private ApiResponseDto<CursorPageResponseDto<PostResponseDto>> postPage;
+    private ApiResponseDto<CursorCommentResponseDto<CommentResponseDto>> commentPage;
+
+    @Setup
+    public void setUp() {
+        // Spring Boot의 기본 ObjectMapper 설정과 같게 날짜를 ISO 문자열로 직렬화
+        this.objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        this.createdAt = LocalDateTime.of(2025, 10, 1, 12, 0);
+        this.postPage = ApiResponseDto.success(new CursorPageResponseDto<>(buildPosts(), "cursor", true));
+        this.commentPage = ApiResponseDto.success(new CursorCommentResponseDto<>(buildComments(), "cursor", true));
+    }
+
+    @Benchmark
+    public List<PostResponseDto> buildPosts() {
+        return IntStream.range(0, this.size)
+                .mapToObj(i -> PostResponseDto.builder()
+                        .id((long) i)
+                        .title("title " + i)
+                        .content("content of post " + i)
+                        .author("author" + i)
+                        .createdAt(this.createdAt)
+                        .views(100L)
+                        .likes(10L)
+                        .comments(3L)
+                        .build())
+                .toList();
+    }
+
+    @Benchmark
+    public List<CommentResponseDto> buildComments() {
+        return IntStream.range(0, this.size)
+                .mapToObj(i -> CommentResponseDto.builder()
+                        .id((long) i)
+                        .author("author" + i)
+                        .content("comment " + i)
+                        .createdAt(this.createdAt)
+                        .isMine(i % 2 == 0)
+                        .build())
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializePostPage() throws Exception {
+        return this.objectMapper.writeValueAsBytes(this.postPage);
+    }
+
+    @Benchmark
+    public byte[] serializeCommentPage() throws Exception {
+        return this.objectMapper.writeValueAsBytes(this.commentPage);
+    }
+}
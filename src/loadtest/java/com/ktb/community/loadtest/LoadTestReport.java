@@ -0,0 +1,79 @@
+package com.ktb.community.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// endpoint별 응답 시간과 실패 수를 모아 처리량, p50/p95/p99, 에러율로 출력
+public class LoadTestReport {
+
+    static final class EndpointStats {
+        private long[] latencies = new long[1024];
+        private int size;
+        private final AtomicLong errors = new AtomicLong();
+
+        synchronized void record(long nanos) {
+            if (this.size == this.latencies.length) {
+                this.latencies = Arrays.copyOf(this.latencies, this.size * 2);
+            }
+            this.latencies[this.size++] = nanos;
+        }
+
+        void error() {
+            this.errors.incrementAndGet();
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(this.latencies, this.size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentSkipListMap<>();
+    private volatile Duration elapsed = Duration.ZERO;
+
+    public void record(String endpoint, long nanos, boolean success) {
+        EndpointStats stats = this.endpoints.computeIfAbsent(endpoint, key -> new EndpointStats());
+        stats.record(nanos);
+        if (!success) {
+            stats.error();
+        }
+    }
+
+    public void finish(Duration elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    public void print(PrintStream out) {
+        double seconds = Math.max(this.elapsed.toMillis(), 1) / 1000.0;
+        out.printf("%n%-28s %9s %9s %8s %9s %9s %9s%n", "endpoint", "requests", "req/s", "errors", "p50(ms)", "p95(ms)", "p99(ms)");
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (Map.Entry<String, EndpointStats> entry : this.endpoints.entrySet()) {
+            long[] latencies = entry.getValue().sorted();
+            long errors = entry.getValue().errors.get();
+            totalRequests += latencies.length;
+            totalErrors += errors;
+            out.printf("%-28s %9d %9.1f %7.2f%% %9.1f %9.1f %9.1f%n", entry.getKey(), latencies.length, latencies.length / seconds,
+                    percent(errors, latencies.length), millis(latencies, 0.50), millis(latencies, 0.95), millis(latencies, 0.99));
+        }
+        out.printf("%-28s %9d %9.1f %7.2f%%%n", "total", totalRequests, totalRequests / seconds, percent(totalErrors, totalRequests));
+        out.printf("measured for %.1f s%n", seconds);
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0.0 : part * 100.0 / total;
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * percentile) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
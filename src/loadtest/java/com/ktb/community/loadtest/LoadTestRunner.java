@@ -0,0 +1,44 @@
+package com.ktb.community.loadtest;
+
+import com.ktb.community.CommunityApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.time.Duration;
+
+// ./gradlew loadTest 로 실행
+// 인메모리 DB로 애플리케이션을 띄우고, 데이터를 넣은 뒤 여러 유저의 요청을 동시에 보내서 endpoint별 결과를 출력
+// -Dloadtest.users=500 -Dloadtest.duration-seconds=120 처럼 설정을 바꿀 수 있음
+@Slf4j
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(CommunityApplication.class)
+                .profiles("loadtest")
+                .run(args);
+        try {
+            Environment env = context.getEnvironment();
+            int users = env.getRequiredProperty("loadtest.users", Integer.class);
+            int posts = env.getRequiredProperty("loadtest.posts", Integer.class);
+            int commentsPerPost = env.getRequiredProperty("loadtest.comments-per-post", Integer.class);
+            int durationSeconds = env.getRequiredProperty("loadtest.duration-seconds", Integer.class);
+            int pageSize = env.getRequiredProperty("loadtest.page-size", Integer.class);
+            int shards = env.getRequiredProperty("like.counter.shards", Integer.class);
+            int port = env.getRequiredProperty("local.server.port", Integer.class);
+
+            LoadTestSeeder seeder = new LoadTestSeeder(context.getBean(JdbcTemplate.class), context.getBean(PasswordEncoder.class));
+            seeder.seed(users, posts, commentsPerPost, shards);
+
+            Workload workload = new Workload(URI.create("http://localhost:" + port), LoadTestSeeder.PASSWORD, pageSize);
+            LoadTestReport report = workload.run(users, Duration.ofSeconds(durationSeconds));
+            report.print(System.out);
+        } finally {
+            context.close();
+        }
+    }
+}
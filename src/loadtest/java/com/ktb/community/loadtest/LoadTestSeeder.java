@@ -0,0 +1,78 @@
+package com.ktb.community.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// 부하 테스트용 유저, 게시글, 카운터, 좋아요 slot, 댓글을 JDBC 배치로 미리 넣어둠
+@Slf4j
+public class LoadTestSeeder {
+    public static final String PASSWORD = "password123!";
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    public LoadTestSeeder(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    public static String email(int index) {
+        return "loadtest" + index + "@test.com";
+    }
+
+    public void seed(int users, int posts, int commentsPerPost, int shards) {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        // BCrypt는 느리므로 모든 유저가 같은 해시를 사용
+        String encoded = this.passwordEncoder.encode(PASSWORD);
+        List<Object[]> userRows = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            userRows.add(new Object[]{email(i), encoded, "loadtest" + i, Timestamp.valueOf(now)});
+        }
+        batch("insert into user (email, password, nickname, created_at) values (?, ?, ?, ?)", userRows);
+        List<Long> userIds = this.jdbcTemplate.queryForList("select user_id from user order by user_id", Long.class);
+
+        List<Object[]> postRows = new ArrayList<>();
+        for (int i = 0; i < posts; i++) {
+            // 최신 게시글일수록 created_at이 늦도록 1초씩 간격을 둠
+            Timestamp createdAt = Timestamp.valueOf(now.minusSeconds(posts - i));
+            postRows.add(new Object[]{userIds.get(i % userIds.size()), "title " + i, "content of post " + i, createdAt});
+        }
+        batch("insert into post (user_id, title, content, created_at) values (?, ?, ?, ?)", postRows);
+        List<Long> postIds = this.jdbcTemplate.queryForList("select post_id from post order by post_id", Long.class);
+
+        List<Object[]> countRows = new ArrayList<>();
+        List<Object[]> shardRows = new ArrayList<>();
+        List<Object[]> commentRows = new ArrayList<>();
+        for (int i = 0; i < postIds.size(); i++) {
+            Long postId = postIds.get(i);
+            countRows.add(new Object[]{postId, 0L, 0L, (long) commentsPerPost});
+            for (int slot = 0; slot < shards; slot++) {
+                shardRows.add(new Object[]{postId, slot});
+            }
+            for (int c = 0; c < commentsPerPost; c++) {
+                commentRows.add(new Object[]{userIds.get((i + c) % userIds.size()), postId, "comment " + c, Timestamp.valueOf(now)});
+            }
+        }
+        batch("insert into count (post_id, like_count, view_count, comment_count) values (?, ?, ?, ?)", countRows);
+        batch("insert into like_count_shard (post_id, slot, like_count) values (?, ?, 0)", shardRows);
+        batch("insert into comment (user_id, post_id, content, created_at) values (?, ?, ?, ?)", commentRows);
+
+        log.info("Seeded {} users, {} posts, {} comments in {} ms", users, posts, commentRows.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            this.jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+}
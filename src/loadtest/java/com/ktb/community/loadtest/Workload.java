@@ -0,0 +1,148 @@
+package com.ktb.community.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 가상 유저마다 로그인 후 측정 시간 동안 아래 시나리오를 반복
+// 피드 첫 페이지 -> 다음 페이지 -> 게시글 상세 -> 댓글 목록 -> (20%) 댓글 작성 -> (30%) 좋아요, 그중 절반은 좋아요 취소
+@Slf4j
+public class Workload {
+    private final URI baseUri;
+    private final String password;
+    private final int pageSize;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public Workload(URI baseUri, String password, int pageSize) {
+        this.baseUri = baseUri;
+        this.password = password;
+        this.pageSize = pageSize;
+    }
+
+    // 요청 하나의 결과, 실패하면 body는 null
+    private record Result(int status, JsonNode body) {
+        boolean ok() {
+            return this.status >= 200 && this.status < 300 && this.body != null;
+        }
+    }
+
+    public LoadTestReport run(int users, Duration duration) throws Exception {
+        LoadTestReport report = new LoadTestReport();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // 로그인은 BCrypt 때문에 느리므로 측정 시간과 분리해서 먼저 수행
+            List<Future<String>> logins = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                String email = LoadTestSeeder.email(i);
+                logins.add(executor.submit(() -> login(report, email)));
+            }
+            List<String> tokens = new ArrayList<>();
+            for (Future<String> login : logins) {
+                String token = login.get();
+                if (token != null) {
+                    tokens.add(token);
+                }
+            }
+            log.info("{} of {} users logged in, running workload for {} s", tokens.size(), users, duration.toSeconds());
+
+            long start = System.nanoTime();
+            long deadline = start + duration.toNanos();
+            List<Future<?>> sessions = new ArrayList<>();
+            for (String token : tokens) {
+                sessions.add(executor.submit(() -> browse(report, token, deadline)));
+            }
+            for (Future<?> session : sessions) {
+                session.get();
+            }
+            report.finish(Duration.ofNanos(System.nanoTime() - start));
+        }
+        return report;
+    }
+
+    private String login(LoadTestReport report, String email) {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + this.password + "\"}";
+        Result result = send(report, "POST /auth/login", "POST", "/auth/login", body, null);
+        return result.ok() ? result.body().path("data").path("access_token").asText(null) : null;
+    }
+
+    private void browse(LoadTestReport report, String token, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            Result firstPage = send(report, "GET /posts", "GET", "/posts?size=" + this.pageSize, null, token);
+            if (!firstPage.ok()) {
+                continue;
+            }
+            JsonNode posts = firstPage.body().path("data").path("posts");
+            String cursor = firstPage.body().path("data").path("next_cursor").asText(null);
+            if (cursor != null) {
+                Result nextPage = send(report, "GET /posts?cursor", "GET",
+                        "/posts?size=" + this.pageSize + "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8), null, token);
+                if (nextPage.ok() && nextPage.body().path("data").path("posts").size() > 0) {
+                    posts = nextPage.body().path("data").path("posts");
+                }
+            }
+            if (posts.isEmpty()) {
+                continue;
+            }
+
+            long postId = posts.get(random.nextInt(posts.size())).path("id").asLong();
+            send(report, "GET /posts/{id}", "GET", "/posts/" + postId, null, token);
+            send(report, "GET /posts/{id}/comments", "GET", "/posts/" + postId + "/comments?size=5", null, token);
+
+            if (random.nextInt(100) < 20) {
+                send(report, "POST /posts/{id}/comments", "POST", "/posts/" + postId + "/comments",
+                        "{\"content\":\"load test comment\"}", token);
+            }
+            if (random.nextInt(100) < 30) {
+                Result like = send(report, "POST /posts/{id}/likes", "POST", "/posts/" + postId + "/likes", null, token);
+                if (like.ok() && random.nextBoolean()) {
+                    send(report, "DELETE /posts/{id}/likes", "DELETE", "/posts/" + postId + "/likes", null, token);
+                }
+            }
+        }
+    }
+
+    private Result send(LoadTestReport report, String endpoint, String method, String path, String body, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(this.baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = this.httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            long elapsed = System.nanoTime() - start;
+            boolean success = response.statusCode() >= 200 && response.statusCode() < 300;
+            report.record(endpoint, elapsed, success);
+            return new Result(response.statusCode(), success ? this.objectMapper.readTree(response.body()) : null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            report.record(endpoint, System.nanoTime() - start, false);
+            return new Result(0, null);
+        } catch (Exception e) {
+            report.record(endpoint, System.nanoTime() - start, false);
+            return new Result(0, null);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.ktb.community.cache;
+
+import com.ktb.community.repository.UserRepository;
+import com.ktb.community.repository.projection.AuthorView;
+import com.ktb.community.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class AuthorCache {
+    // 게시글/댓글 목록과 상세에서 작성자 닉네임, 프로필 이미지를 user join 없이 채우기 위한 user id별 캐시
+    // 캐시에 없는 작성자는 요청마다 IN 쿼리 한 번으로 모아서 조회
+    // 닉네임 변경, 탈퇴 시 커밋 이후 무효화되며, 그 외에는 TTL이 지나면 다시 조회
+    // 탈퇴한 작성자도 "없음"으로 캐시해서 탈퇴한 유저의 글이 남은 목록이 매번 DB를 조회하지 않도록 함
+    // 가득 차면 가장 오래전에 넣은 엔트리부터 지움
+
+    private final UserRepository userRepository;
+
+    private final ExpiringMap<Long, AuthorView> entries;
+    // 무효화될 때마다 증가, 조회 도중 무효화가 일어났다면 조회 결과를 캐시에 넣지 않음
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public AuthorCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                       @Value("${author-cache.ttl-ms}") long ttlMillis,
+                       @Value("${author-cache.max-entries}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.entries = new ExpiringMap<>(ttlMillis, maxEntries);
+
+        this.hitCounter = Counter.builder("author.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("author.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("author.cache.entries", this.entries, ExpiringMap::size).register(meterRegistry);
+    }
+
+    // 조회되지 않은 (삭제된) 유저는 결과에 포함되지 않음
+    public Map<Long, AuthorView> getAll(Collection<Long> userIds) {
+        long now = System.currentTimeMillis();
+        Map<Long, AuthorView> authors = new HashMap<>();
+        Set<Long> misses = new LinkedHashSet<>();
+        for (Long userId : userIds) {
+            ExpiringMap.Entry<AuthorView> entry = this.entries.get(userId, now);
+            if (entry != null) {
+                if (entry.value() != null) {
+                    authors.put(userId, entry.value());
+                }
+            } else {
+                misses.add(userId);
+            }
+        }
+        this.hitCounter.increment(userIds.size() - misses.size());
+        if (misses.isEmpty()) {
+            return authors;
+        }
+
+        this.missCounter.increment(misses.size());
+        long invalidationsBefore = this.invalidations.get();
+        List<AuthorView> loaded = this.userRepository.findAuthorsByIdIn(misses);
+        for (AuthorView author : loaded) {
+            authors.put(author.id(), author);
+        }
+        if (this.invalidations.get() == invalidationsBefore) {
+            // 조회되지 않은 (삭제된) 작성자는 null로 캐시
+            for (Long userId : misses) {
+                this.entries.put(userId, authors.get(userId), now);
+            }
+        }
+        return authors;
+    }
+
+    public AuthorView get(Long userId) {
+        return getAll(List.of(userId)).get(userId);
+    }
+
+    // 닉네임 등 작성자 정보가 바뀌는 트랜잭션에서 호출
+    public void invalidateAfterCommit(Long userId) {
+        AfterCommit.run(() -> {
+            this.invalidations.incrementAndGet();
+            this.entries.remove(userId);
+        });
+    }
+
+    // 다시 조회되지 않는 만료된 엔트리가 메모리에 남지 않도록 주기적으로 정리
+    @Scheduled(fixedDelayString = "${author-cache.sweep-interval-ms}")
+    public void sweep() {
+        this.entries.sweep(System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,87 @@
+package com.ktb.community.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 엔트리를 넣은 순서대로 보관하는 크기 제한 map, UserDetailsCache와 AuthorCache가 사용
+// 모든 엔트리의 TTL이 같으므로 넣은 순서가 곧 만료 순서
+// 가득 차면 가장 먼저 만료될 엔트리를 지우고, 만료된 엔트리는 sweep이 앞에서부터 만료되지 않은 엔트리를 만날 때까지만 정리
+// 조회는 구조를 바꾸지 않으므로 read lock, 변경은 write lock
+final class ExpiringMap<K, V> {
+
+    // value가 null이면 "없음"을 캐시한 엔트리
+    record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    ExpiringMap(long ttlMillis, int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    // 만료되지 않은 엔트리, 없으면 null
+    Entry<V> get(K key, long now) {
+        this.lock.readLock().lock();
+        try {
+            Entry<V> entry = this.entries.get(key);
+            return entry != null && entry.expiresAt() > now ? entry : null;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    void put(K key, V value, long now) {
+        this.lock.writeLock().lock();
+        try {
+            // 이미 있던 key도 맨 뒤로 옮겨야 순서가 만료 순서와 같게 유지됨
+            this.entries.remove(key);
+            this.entries.put(key, new Entry<>(value, now + this.ttlMillis));
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    void remove(K key) {
+        this.lock.writeLock().lock();
+        try {
+            this.entries.remove(key);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    // 만료된 엔트리 수만큼만 확인
+    int sweep(long now) {
+        this.lock.writeLock().lock();
+        try {
+            int removed = 0;
+            Iterator<Entry<V>> iterator = this.entries.values().iterator();
+            while (iterator.hasNext() && iterator.next().expiresAt() <= now) {
+                iterator.remove();
+                removed++;
+            }
+            return removed;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.entries.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+}
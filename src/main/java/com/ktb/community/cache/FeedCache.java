@@ -0,0 +1,143 @@
+package com.ktb.community.cache;
+
+import com.ktb.community.util.AfterCommit;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Component
+public class FeedCache {
+    // GET /posts 첫 페이지 응답을 페이지 크기별로 직렬화된 byte[] 그대로 보관하는 캐시
+    // 캐시 히트 시 Hibernate, Jackson을 거치지 않고 바로 응답 본문으로 사용
+
+    private record Entry(byte[] body, long generation, long builtAt) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final int maxPageSize;
+    private final long counterStalenessMillis;
+    private final long maxAgeMillis;
+
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Integer, ReentrantLock> locks = new ConcurrentHashMap<>();
+    // 게시글이 생성/수정/삭제될 때마다 증가, 이전 세대의 엔트리는 사용하지 않음
+    private final AtomicLong generation = new AtomicLong();
+    // 좋아요 등 카운터가 마지막으로 바뀐 시각
+    private volatile long countersChangedAt = 0L;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter bypassCounter;
+
+    public FeedCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                     @Value("${feed.cache.max-entries}") int maxEntries,
+                     @Value("${feed.cache.max-page-size}") int maxPageSize,
+                     @Value("${feed.cache.counter-staleness-ms}") long counterStalenessMillis,
+                     @Value("${feed.cache.max-age-ms}") long maxAgeMillis) {
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.maxPageSize = maxPageSize;
+        this.counterStalenessMillis = counterStalenessMillis;
+        this.maxAgeMillis = maxAgeMillis;
+
+        this.hitCounter = Counter.builder("feed.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("feed.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.bypassCounter = Counter.builder("feed.cache.requests").tag("result", "bypass").register(meterRegistry);
+        Gauge.builder("feed.cache.entries", this.entries, Map::size).register(meterRegistry);
+    }
+
+    public byte[] getFirstPage(int size, Supplier<?> loader) {
+        if (size < 1 || size > this.maxPageSize) {
+            // 너무 큰 페이지는 캐시하지 않고 바로 조회
+            this.bypassCounter.increment();
+            return serialize(loader.get());
+        }
+
+        Entry entry = this.entries.get(size);
+        if (entry != null && isFresh(entry, System.currentTimeMillis())) {
+            this.hitCounter.increment();
+            return entry.body();
+        }
+
+        // 같은 페이지 크기에 대해 동시에 여러 요청이 DB로 몰리지 않도록 한 요청만 다시 만듦
+        ReentrantLock lock = this.locks.computeIfAbsent(size, key -> new ReentrantLock());
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            entry = this.entries.get(size);
+            if (entry != null && isFresh(entry, now)) {
+                this.hitCounter.increment();
+                return entry.body();
+            }
+
+            this.missCounter.increment();
+            long currentGeneration = this.generation.get();
+            byte[] body = serialize(loader.get());
+
+            if (!this.entries.containsKey(size) && this.entries.size() >= this.maxEntries) {
+                evictOldest();
+            }
+            this.entries.put(size, new Entry(body, currentGeneration, now));
+            return body;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 게시글 생성/수정/삭제 시 호출, 트랜잭션이 커밋된 뒤에 무효화해야 이전 데이터로 다시 채워지지 않음
+    public void invalidateAfterCommit() {
+        AfterCommit.run(this::invalidate);
+    }
+
+    // 좋아요, 댓글 수 등 카운터 변경 시 호출, staleness 범위 안에서는 기존 응답을 그대로 사용
+    public void countersChangedAfterCommit() {
+        AfterCommit.run(this::countersChanged);
+    }
+
+    // write-behind flush, 좋아요 rollup처럼 카운터가 DB에 실제로 반영된 뒤 호출
+    public void countersChanged() {
+        this.countersChangedAt = System.currentTimeMillis();
+    }
+
+    public void invalidate() {
+        this.generation.incrementAndGet();
+        this.entries.clear();
+    }
+
+    private boolean isFresh(Entry entry, long now) {
+        if (entry.generation() != this.generation.get()) {
+            return false;
+        }
+        // 변경 신호를 놓치더라도 max-age가 지나면 다시 만듦
+        if (now - entry.builtAt() >= this.maxAgeMillis) {
+            return false;
+        }
+        return entry.builtAt() >= this.countersChangedAt || now - entry.builtAt() < this.counterStalenessMillis;
+    }
+
+    private void evictOldest() {
+        this.entries.entrySet().stream()
+                .min(Comparator.comparingLong(e -> e.getValue().builtAt()))
+                .ifPresent(oldest -> this.entries.remove(oldest.getKey(), oldest.getValue()));
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return this.objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize feed page", e);
+        }
+    }
+}
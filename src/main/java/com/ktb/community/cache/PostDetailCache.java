@@ -0,0 +1,142 @@
+package com.ktb.community.cache;
+
+import com.ktb.community.dto.response.PostDetailResponseDto;
+import com.ktb.community.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class PostDetailCache {
+    // 게시글 상세의 본문(제목, 내용, 작성자, 이미지)을 postId별로 보관하는 캐시
+    // 좋아요/조회수/댓글 수는 자주 바뀌므로 캐시하지 않고 조회 시점에 덧씌움
+    // 게시글마다 조회를 시작할 때 version을 발급하고, 수정/삭제되면 version을 지워 이전 version으로 만들어진 엔트리는 사용하지 않음
+    // version은 캐시에 올라가 있거나 조회 중인 게시글에만 남아 있으므로 캐시 크기만큼만 유지됨
+
+    private record Entry(Long postId, PostDetailResponseDto body, long version, long weight) {
+    }
+
+    private final long maxWeightBytes;
+    private final int maxEntries;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    // 삭제 후 다시 발급된 version이 이전 version과 겹치지 않도록 전역으로 증가
+    private final AtomicLong nextVersion = new AtomicLong();
+    // 오래 전에 들어온 엔트리부터 내보내기 위한 삽입 순서 큐
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private final AtomicLong totalWeight = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public PostDetailCache(MeterRegistry meterRegistry,
+                           @Value("${post.detail-cache.max-weight-bytes}") long maxWeightBytes,
+                           @Value("${post.detail-cache.max-entries}") int maxEntries) {
+        this.maxWeightBytes = maxWeightBytes;
+        this.maxEntries = maxEntries;
+
+        this.hitCounter = Counter.builder("post.detail.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("post.detail.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.evictionCounter = Counter.builder("post.detail.cache.evictions").register(meterRegistry);
+        Gauge.builder("post.detail.cache.entries", this.entries, Map::size).register(meterRegistry);
+        Gauge.builder("post.detail.cache.weight.bytes", this.totalWeight, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("post.detail.cache.versions", this.versions, Map::size).register(meterRegistry);
+    }
+
+    public PostDetailResponseDto get(Long postId, Supplier<PostDetailResponseDto> loader) {
+        // version이 없으면 무효화되었거나 내보내진 게시글이므로 miss로 처리
+        Long current = this.versions.get(postId);
+        Entry entry = this.entries.get(postId);
+        if (current != null && entry != null && entry.version() == current) {
+            this.hitCounter.increment();
+            return entry.body();
+        }
+
+        this.missCounter.increment();
+        long version = this.versions.computeIfAbsent(postId, key -> this.nextVersion.incrementAndGet());
+        boolean cached = false;
+        try {
+            PostDetailResponseDto body = loader.get();
+
+            // 조회하는 동안 게시글이 수정되었다면 이전 내용이므로 캐시에 넣지 않음
+            Long latest = this.versions.get(postId);
+            if (latest != null && latest == version) {
+                put(new Entry(postId, body, version, weigh(body)));
+                cached = true;
+            }
+            return body;
+        } finally {
+            // 없는 게시글 조회 등으로 캐시하지 못했다면 발급한 version도 남기지 않음
+            if (!cached) {
+                this.versions.remove(postId, version);
+            }
+        }
+    }
+
+    // 게시글 수정/삭제 시 호출, 커밋 이후 version을 지워 이전 본문과 조회 중인 본문을 무효화
+    public void bumpVersionAfterCommit(Long postId) {
+        AfterCommit.run(() -> {
+            this.versions.remove(postId);
+            Entry removed = this.entries.remove(postId);
+            if (removed != null) {
+                this.totalWeight.addAndGet(-removed.weight());
+            }
+        });
+    }
+
+    private void put(Entry entry) {
+        Entry previous = this.entries.put(entry.postId(), entry);
+        if (previous != null) {
+            this.totalWeight.addAndGet(-previous.weight());
+        }
+        this.totalWeight.addAndGet(entry.weight());
+        this.insertionOrder.add(entry);
+        this.queuedCount.incrementAndGet();
+
+        // 교체/무효화된 엔트리가 큐에 쌓이기만 하지 않도록 큐 길이도 함께 제한
+        while (this.totalWeight.get() > this.maxWeightBytes || this.entries.size() > this.maxEntries
+                || this.queuedCount.get() > 2 * this.maxEntries) {
+            Entry oldest = this.insertionOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            this.queuedCount.decrementAndGet();
+            // 이미 교체되었거나 무효화된 엔트리는 큐에서만 제거
+            if (this.entries.remove(oldest.postId(), oldest)) {
+                this.totalWeight.addAndGet(-oldest.weight());
+                this.evictionCounter.increment();
+                this.versions.remove(oldest.postId(), oldest.version());
+            }
+        }
+    }
+
+    // 문자열은 char 당 2바이트로 대략적인 힙 사용량을 계산
+    private static long weigh(PostDetailResponseDto body) {
+        long weight = 128;
+        weight += 2L * length(body.getTitle());
+        weight += 2L * length(body.getContent());
+        if (body.getImages() != null) {
+            for (String url : body.getImages()) {
+                weight += 48 + 2L * length(url);
+            }
+        }
+        return weight;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -0,0 +1,189 @@
+package com.ktb.community.cache;
+
+import com.ktb.community.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class RefreshTokenBloomFilter {
+    // DB에 저장된 refresh token의 존재 여부를 메모리에서 먼저 확인하는 Bloom filter
+    // "없음"은 확실하므로 위조/폐기된 토큰은 DB를 조회하지 않고 거절할 수 있음
+    // "있을 수도 있음"이면 DB에서 한 번 더 확인 (오탐률은 false-positive-rate)
+    // Bloom filter는 삭제를 지원하지 않으므로 삭제된 토큰은 주기적인 재구성으로 정리
+    // filter는 서버(노드)마다 따로 가지고 있으므로, 다른 노드에서 발급된 토큰은 재구성 때 읽은 DB에 포함된 뒤에야 filter에 들어옴
+    // 그래서 "없음"은 마지막 재구성이 읽은 시점보다 먼저 발급된 토큰에만 믿고, 그 이후 발급된 토큰은 DB에서 확인
+
+    // 토큰 발급과 커밋 사이의 시간, 노드 간 시계 차이를 감안한 여유
+    private static final Duration ISSUE_MARGIN = Duration.ofMinutes(1);
+
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final long size;
+        private final int hashes;
+        // 이 시각 이전에 발급된 토큰은 (어느 노드에서 발급되었든) 재구성 때 읽은 DB에 들어 있음
+        private final LocalDateTime coversIssuedBefore;
+
+        private Bits(long expectedTokens, double falsePositiveRate, LocalDateTime coversIssuedBefore) {
+            this.coversIssuedBefore = coversIssuedBefore;
+            long n = Math.max(1L, expectedTokens);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.size = Math.max(64L, m);
+            this.hashes = Math.max(1, (int) Math.round((double) this.size / n * Math.log(2)));
+            this.words = new AtomicLongArray((int) ((this.size + 63) / 64));
+        }
+
+        private void add(long[] hash) {
+            for (int i = 0; i < this.hashes; i++) {
+                long bit = index(hash, i);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = this.words.get(word);
+                    if ((current & mask) != 0) {
+                        break;
+                    }
+                } while (!this.words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        private boolean mightContain(long[] hash) {
+            for (int i = 0; i < this.hashes; i++) {
+                long bit = index(hash, i);
+                if ((this.words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // 두 개의 해시 값으로 k개의 위치를 만드는 double hashing
+        private long index(long[] hash, int i) {
+            return Math.floorMod(hash[0] + i * hash[1], this.size);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long expectedTokens;
+    private final double falsePositiveRate;
+
+    // 처음 구성이 끝나기 전에는 null, 이때는 모든 토큰을 DB에서 확인
+    private volatile Bits current;
+    // 재구성 중에 추가되는 토큰이 새 filter에서 빠지지 않도록 양쪽에 모두 기록
+    private volatile Bits building;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private final Counter rejectedCounter;
+    private final Counter passedCounter;
+    private final Counter uncoveredCounter;
+
+    public RefreshTokenBloomFilter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                                   @Value("${auth.refresh-filter.expected-tokens}") long expectedTokens,
+                                   @Value("${auth.refresh-filter.false-positive-rate}") double falsePositiveRate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+
+        this.rejectedCounter = Counter.builder("auth.refresh.filter.checks").tag("result", "rejected").register(meterRegistry);
+        this.passedCounter = Counter.builder("auth.refresh.filter.checks").tag("result", "passed").register(meterRegistry);
+        this.uncoveredCounter = Counter.builder("auth.refresh.filter.checks").tag("result", "uncovered").register(meterRegistry);
+    }
+
+    // issuedAt은 토큰의 iat, 모르면 null
+    public boolean mightContain(String token, LocalDateTime issuedAt) {
+        Bits bits = this.current;
+        if (bits == null) {
+            return true;
+        }
+        if (bits.mightContain(hash(token))) {
+            this.passedCounter.increment();
+            return true;
+        }
+        // 마지막 재구성 이후에 다른 노드에서 발급되었을 수 있는 토큰은 DB에서 확인
+        if (issuedAt == null || !issuedAt.isBefore(bits.coversIssuedBefore)) {
+            this.uncoveredCounter.increment();
+            return true;
+        }
+        this.rejectedCounter.increment();
+        return false;
+    }
+
+    // refresh token 저장 시 호출, 커밋 이후에 추가해서 재구성 중인 filter에서도 빠지지 않도록 함
+    public void addAfterCommit(String token) {
+        AfterCommit.run(() -> {
+            long[] hash = hash(token);
+            // 재구성은 current를 교체한 뒤 building을 비우므로 building을 먼저 읽어야 함
+            // current를 먼저 읽으면 교체 전 filter에만 추가하고 building은 이미 비워진 상태를 볼 수 있음
+            // building이 비어 있었다면 재구성 전(재구성 조회에 이 토큰이 포함됨)이거나 교체 후(current가 새 filter)
+            Bits next = this.building;
+            Bits bits = this.current;
+            if (next != null) {
+                next.add(hash);
+            }
+            if (bits != null && bits != next) {
+                bits.add(hash);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${auth.refresh-filter.rebuild-interval-ms}",
+            fixedDelayString = "${auth.refresh-filter.rebuild-interval-ms}")
+    public void rebuild() {
+        if (!this.rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Long liveTokens = this.jdbcTemplate.queryForObject(
+                    "select count(*) from refresh where expiration_at > ?", Long.class, now);
+            // 여유를 두고 만들어서 다음 재구성 전까지 늘어나는 토큰에도 오탐률이 크게 오르지 않도록 함
+            Bits next = new Bits(Math.max(this.expectedTokens, liveTokens == null ? 0L : liveTokens * 2), this.falsePositiveRate,
+                    now.minus(ISSUE_MARGIN));
+            this.building = next;
+            this.jdbcTemplate.query("select refresh_token from refresh where expiration_at > ?",
+                    rs -> {
+                        next.add(hash(rs.getString(1)));
+                    }, now);
+            this.current = next;
+            log.info("Rebuilt refresh token filter with {} tokens", liveTokens);
+        } catch (RuntimeException e) {
+            // 재구성에 실패하면 기존 filter를 계속 사용
+            log.warn("Failed to rebuild refresh token filter: {}", e.getMessage());
+        } finally {
+            this.building = null;
+            this.rebuildLock.unlock();
+        }
+    }
+
+    private static long[] hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            return new long[]{buffer.getLong(), buffer.getLong() | 1L};
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
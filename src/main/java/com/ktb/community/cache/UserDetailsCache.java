@@ -0,0 +1,74 @@
+package com.ktb.community.cache;
+
+import com.ktb.community.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class UserDetailsCache {
+    // JwtAuthenticationFilter가 요청마다 findByEmail을 실행하지 않도록 email별 UserDetails를 잠시 보관하는 캐시
+    // 유저 삭제, 닉네임/비밀번호 변경 시 커밋 이후 무효화되며, 그 외에는 TTL이 지나면 다시 조회
+    // 가득 차면 가장 오래전에 넣은 엔트리부터 지움
+
+    private final ExpiringMap<String, UserDetails> entries;
+    // 무효화될 때마다 증가, 조회 도중 무효화가 일어났다면 조회 결과를 캐시에 넣지 않음
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public UserDetailsCache(MeterRegistry meterRegistry,
+                            @Value("${auth.user-cache.ttl-ms}") long ttlMillis,
+                            @Value("${auth.user-cache.max-entries}") int maxEntries) {
+        this.entries = new ExpiringMap<>(ttlMillis, maxEntries);
+
+        this.hitCounter = Counter.builder("auth.user.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("auth.user.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("auth.user.cache.entries", this.entries, ExpiringMap::size).register(meterRegistry);
+    }
+
+    public UserDetails get(String email, Supplier<UserDetails> loader) {
+        long now = System.currentTimeMillis();
+        ExpiringMap.Entry<UserDetails> entry = this.entries.get(email, now);
+        if (entry != null) {
+            this.hitCounter.increment();
+            return entry.value();
+        }
+
+        this.missCounter.increment();
+        long invalidationsBefore = this.invalidations.get();
+        UserDetails details = loader.get();
+        // 필터는 권한 정보만 사용하므로 비밀번호 해시는 메모리에 남기지 않음
+        if (details instanceof CredentialsContainer credentials) {
+            credentials.eraseCredentials();
+        }
+
+        if (this.invalidations.get() == invalidationsBefore) {
+            this.entries.put(email, details, now);
+        }
+        return details;
+    }
+
+    // 유저 정보가 바뀌는 트랜잭션에서 호출
+    public void invalidateAfterCommit(String email) {
+        AfterCommit.run(() -> {
+            this.invalidations.incrementAndGet();
+            this.entries.remove(email);
+        });
+    }
+
+    // 다시 조회되지 않는 만료된 엔트리가 메모리에 남지 않도록 주기적으로 정리
+    @Scheduled(fixedDelayString = "${auth.user-cache.sweep-interval-ms}")
+    public void sweep() {
+        this.entries.sweep(System.currentTimeMillis());
+    }
+}
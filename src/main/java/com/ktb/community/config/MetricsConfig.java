@@ -0,0 +1,21 @@
+package com.ktb.community.config;
+
+import com.ktb.community.metrics.DataSourceProxyPostProcessor;
+import com.ktb.community.metrics.HandlerTagObservationConvention;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // BeanPostProcessor는 다른 빈보다 먼저 만들어져야 하므로 static으로 등록
+    @Bean
+    public static DataSourceProxyPostProcessor dataSourceProxyPostProcessor() {
+        return new DataSourceProxyPostProcessor();
+    }
+
+    @Bean
+    public HandlerTagObservationConvention handlerTagObservationConvention() {
+        return new HandlerTagObservationConvention();
+    }
+}
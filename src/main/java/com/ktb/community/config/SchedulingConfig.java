@@ -0,0 +1,10 @@
+package com.ktb.community.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // 카운터 flush 등 주기적으로 실행되는 백그라운드 작업 활성화
+}
@@ -1,6 +1,7 @@
 package com.ktb.community.config;
 
 import com.ktb.community.jwt.JwtAuthenticationFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -23,9 +24,12 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final int managementPort;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+                          @Value("${management.server.port}") int managementPort) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.managementPort = managementPort;
     }
 
     @Bean
@@ -40,6 +44,10 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))// 세션을 무상태로 저장 JWT를 사용하므로 세션을 서버에 저장 X
                 .authorizeHttpRequests(auth ->
                         auth.requestMatchers("/auth/**", "/users/check-email", "/css/**", "/js/**","/favicon.ico").permitAll()
+                                .requestMatchers("/actuator/health").permitAll()
+                                // 메트릭 수집기(Prometheus)용, 외부에 열지 않는 management 포트로 들어온 요청만 인증 없이 허용
+                                .requestMatchers(request -> request.getLocalPort() == this.managementPort
+                                        && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
                                 .anyRequest().authenticated()
                 )// URL별로 인가 정책을 결정
                 // /auth/나 /user/check-email은 인증 X
@@ -90,8 +90,8 @@ public class AuthController {
     public ResponseEntity<ApiResponseDto<?>> refreshAccessToken(
             @CookieValue("refresh_token") String refreshToken,
             HttpServletResponse response) {
-        // 새 refresh token 받아오기
-        var reIssued = this.refreshTokenService.reIssueRefreshToken(refreshToken);
+        // 새 access token과 (필요하면 갱신된) refresh token 받아오기
+        var reIssued = this.refreshTokenService.reIssueTokens(refreshToken);
 
         // 실제 토큰의 남은 만료 시간 계산
         int actualMaxAge = this.refreshTokenService.calculateRemainingSeconds(reIssued.getRefreshToken());
@@ -104,11 +104,8 @@ public class AuthController {
         newRefreshTokenCookie.setMaxAge(actualMaxAge);  // 실제 남은 시간으로 설정
         response.addCookie(newRefreshTokenCookie);
 
-        // 새 access token도 함께 발급
-        String newAccessToken = this.refreshTokenService.reIssueAccessToken(reIssued.getRefreshToken());
-
         return ResponseEntity.ok().body(ApiResponseDto.success(
-            new LoginResponseDto(newAccessToken, null, null)
+            new LoginResponseDto(reIssued.getAccessToken(), null, null)
         ));
     }
 
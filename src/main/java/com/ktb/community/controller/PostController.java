@@ -1,43 +1,77 @@
 package com.ktb.community.controller;
 
+import com.ktb.community.cache.FeedCache;
 import com.ktb.community.dto.request.CreateCommentRequestDto;
+import com.ktb.community.dto.request.CreatePostBatchRequestDto;
 import com.ktb.community.dto.request.CreatePostRequestDto;
 import com.ktb.community.dto.request.ModifyPostRequestDto;
 import com.ktb.community.dto.request.UpdateCommentRequestDto;
 import com.ktb.community.dto.response.*;
+import com.ktb.community.jwt.JwtPrincipal;
 import com.ktb.community.service.CommentService;
 import com.ktb.community.service.LikeService;
 import com.ktb.community.service.PostService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/posts")
 public class PostController {
     private final PostService postService;
     private final CommentService commentService;
     private final LikeService likeService;
+    private final FeedCache feedCache;
 
     @Autowired
-    public PostController(PostService postService, CommentService commentService, LikeService likeService) {
+    public PostController(PostService postService, CommentService commentService, LikeService likeService, FeedCache feedCache) {
         this.postService = postService;
         this.commentService = commentService;
         this.likeService = likeService;
+        this.feedCache = feedCache;
     }
 
     @GetMapping()
-    public ResponseEntity<ApiResponseDto<CursorPageResponseDto<PostResponseDto>>> getPosts(
-            @RequestParam(required = false) Long cursor,
+    public ResponseEntity<?> getPosts(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size
     ) {
+        if (cursor == null) {
+            // 첫 페이지는 직렬화된 응답을 캐시에서 바로 내려줌
+            byte[] body = this.feedCache.getFirstPage(size, () -> ApiResponseDto.success(this.postService.getPostList(null, size)));
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        }
+
         CursorPageResponseDto<PostResponseDto> result = postService.getPostList(cursor, size);
         return ResponseEntity.ok(ApiResponseDto.success(result));
     }
 
+    // 좋아요/댓글/조회수를 시간에 따라 감쇠시킨 점수 기준 인기 게시글
+    @GetMapping("/trending")
+    public ResponseEntity<ApiResponseDto<List<PostResponseDto>>> getTrendingPosts(
+            @RequestParam(defaultValue = "10") @Positive @Max(50) int size
+    ) {
+        return ResponseEntity.ok(ApiResponseDto.success(this.postService.getTrendingPosts(size)));
+    }
+
+    // 제목/내용 검색, 점수순으로 cursor 페이지네이션
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponseDto<CursorPageResponseDto<PostResponseDto>>> searchPosts(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Positive @Max(50) int size
+    ) {
+        CursorPageResponseDto<PostResponseDto> result = this.postService.searchPosts(q, cursor, size);
+        return ResponseEntity.ok(ApiResponseDto.success(result));
+    }
+
     @GetMapping("/{postId}")
     public ResponseEntity<ApiResponseDto<PostDetailResponseDto>> getPostDetail(@PathVariable @Positive Long postId) {
         PostDetailResponseDto post = this.postService.getPostContent(postId);
@@ -45,72 +79,73 @@ public class PostController {
     }
 
     @GetMapping("/{postId}/comments")
-    public ResponseEntity<ApiResponseDto<?>> getComment(@PathVariable Long postId, @RequestParam(required = false) Long cursor,
-                                                        @RequestParam(defaultValue = "5") int size, @RequestHeader("Authorization") String authHeader) {
-        String token = authHeader.substring(7);
+    public ResponseEntity<ApiResponseDto<?>> getComment(@PathVariable Long postId, @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "5") int size, @AuthenticationPrincipal JwtPrincipal principal) {
+        CursorCommentResponseDto<CommentResponseDto> cursorCommentResponseDto = this.commentService.getCommentList(postId, cursor, size, principal.userId());
+        return ResponseEntity.ok().body(ApiResponseDto.success(cursorCommentResponseDto));
+    }
 
-        CursorCommentResponseDto<CommentResponseDto> cursorCommentResponseDto = this.commentService.getCommentList(postId, cursor, size, token);
+    // 목록에서 미리 보여준 답글 이후를 펼칠 때 사용, 답글 id를 넘기면 그 답글의 하위 답글만 반환
+    @GetMapping("/comments/{commentId}/replies")
+    public ResponseEntity<ApiResponseDto<?>> getReplies(@PathVariable Long commentId, @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "10") @Positive @Max(50) int size, @AuthenticationPrincipal JwtPrincipal principal) {
+        CursorCommentResponseDto<CommentResponseDto> cursorCommentResponseDto = this.commentService.getReplies(commentId, cursor, size, principal.userId());
         return ResponseEntity.ok().body(ApiResponseDto.success(cursorCommentResponseDto));
     }
 
     @PostMapping()
-    public ResponseEntity<ApiResponseDto<CrudPostResponseDto>> createPost(@RequestBody @Valid CreatePostRequestDto createPostRequestDto, Authentication authentication) {
-        CrudPostResponseDto crudPostResponseDto = this.postService.createPost(createPostRequestDto, authentication.getName());
+    public ResponseEntity<ApiResponseDto<CrudPostResponseDto>> createPost(@RequestBody @Valid CreatePostRequestDto createPostRequestDto, @AuthenticationPrincipal JwtPrincipal principal) {
+        CrudPostResponseDto crudPostResponseDto = this.postService.createPost(createPostRequestDto, principal.userId());
         return ResponseEntity.ok().body(ApiResponseDto.success(crudPostResponseDto));
     }
 
+    // 데이터 이관 등에서 여러 게시글을 한 번에 작성
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponseDto<List<CrudPostResponseDto>>> createPosts(@RequestBody @Valid CreatePostBatchRequestDto createPostBatchRequestDto, @AuthenticationPrincipal JwtPrincipal principal) {
+        List<CrudPostResponseDto> crudPostResponseDtos = this.postService.createPosts(createPostBatchRequestDto.getPosts(), principal.userId());
+        return ResponseEntity.ok().body(ApiResponseDto.success(crudPostResponseDtos));
+    }
+
     @PatchMapping("/{postId}")
-    public ResponseEntity<ApiResponseDto<?>> modifyPost(@PathVariable Long postId, @RequestBody ModifyPostRequestDto modifyPostRequestDto, @RequestHeader("Authorization") String authHeader) {
-        String token = authHeader.substring(7);
-        CrudPostResponseDto modifiedPost = this.postService.modifyPostContent(postId, token, modifyPostRequestDto);
+    public ResponseEntity<ApiResponseDto<?>> modifyPost(@PathVariable Long postId, @RequestBody ModifyPostRequestDto modifyPostRequestDto, @AuthenticationPrincipal JwtPrincipal principal) {
+        CrudPostResponseDto modifiedPost = this.postService.modifyPostContent(postId, principal.userId(), modifyPostRequestDto);
         return ResponseEntity.ok().body(ApiResponseDto.success(modifiedPost));
     }
 
     @DeleteMapping("/{postId}")
-    public ResponseEntity<ApiResponseDto<?>> deletePost(@PathVariable Long postId, @RequestHeader("Authorization") String authHeader) {
-        String token = authHeader.substring(7);
-        CrudPostResponseDto crudPostResponseDto = this.postService.removePost(postId, token);
+    public ResponseEntity<ApiResponseDto<?>> deletePost(@PathVariable Long postId, @AuthenticationPrincipal JwtPrincipal principal) {
+        CrudPostResponseDto crudPostResponseDto = this.postService.removePost(postId, principal.userId());
         return ResponseEntity.ok().body(ApiResponseDto.success(crudPostResponseDto));
     }
 
     @PostMapping("/{postId}/comments")
-    public ResponseEntity<ApiResponseDto<?>> createComment(@PathVariable Long postId, @RequestBody @Valid CreateCommentRequestDto createCommentRequestDto, @RequestHeader("Authorization") String authHeader) {
-        String token = authHeader.substring(7);
-
-        CrudCommentResponseDto crudCommentResponseDto = this.commentService.writeComment(postId, token, createCommentRequestDto);
+    public ResponseEntity<ApiResponseDto<?>> createComment(@PathVariable Long postId, @RequestBody @Valid CreateCommentRequestDto createCommentRequestDto, @AuthenticationPrincipal JwtPrincipal principal) {
+        CrudCommentResponseDto crudCommentResponseDto = this.commentService.writeComment(postId, principal.userId(), createCommentRequestDto);
         return ResponseEntity.ok().body(ApiResponseDto.success(crudCommentResponseDto));
     }
 
     @PatchMapping("/{postId}/comments")
-    public ResponseEntity<ApiResponseDto<?>> updateComment(@PathVariable Long postId, @RequestBody @Valid UpdateCommentRequestDto updateCommentRequestDto, @RequestHeader("Authorization") String authHeader) {
-        String token = authHeader.substring(7);
-
-        CrudCommentResponseDto updateCommentResponseDto = this.commentService.modifyComment(token, updateCommentRequestDto);
+    public ResponseEntity<ApiResponseDto<?>> updateComment(@PathVariable Long postId, @RequestBody @Valid UpdateCommentRequestDto updateCommentRequestDto, @AuthenticationPrincipal JwtPrincipal principal) {
+        CrudCommentResponseDto updateCommentResponseDto = this.commentService.modifyComment(principal.userId(), updateCommentRequestDto);
         return ResponseEntity.ok().body(ApiResponseDto.success(updateCommentResponseDto));
     }
 
     @DeleteMapping("/comments/{commentId}")
-    public ResponseEntity<ApiResponseDto<?>> deleteComment(@PathVariable Long commentId, @RequestHeader("Authorization") String authHeader) {
-        String token = authHeader.substring(7);
-
-        CrudCommentResponseDto deletedCommentResponseDto = this.commentService.removeComment(commentId, token);
+    public ResponseEntity<ApiResponseDto<?>> deleteComment(@PathVariable Long commentId, @AuthenticationPrincipal JwtPrincipal principal) {
+        CrudCommentResponseDto deletedCommentResponseDto = this.commentService.removeComment(commentId, principal.userId());
 
         return ResponseEntity.ok().body(ApiResponseDto.success(deletedCommentResponseDto));
     }
 
     @PostMapping("/{postId}/likes")
-    public ResponseEntity<ApiResponseDto<?>> createLike(@PathVariable Long postId, @RequestHeader("Authorization") String authHeader) {
-        String token = authHeader.substring(7);
-
-        LikeResponseDto likeResponseDto = this.likeService.likePost(postId, token);
+    public ResponseEntity<ApiResponseDto<?>> createLike(@PathVariable Long postId, @AuthenticationPrincipal JwtPrincipal principal) {
+        LikeResponseDto likeResponseDto = this.likeService.likePost(postId, principal.userId());
         return ResponseEntity.ok().body(ApiResponseDto.success(likeResponseDto));
     }
 
     @DeleteMapping("/{postId}/likes")
-    public ResponseEntity<ApiResponseDto<?>> deleteLike(@PathVariable Long postId, @RequestHeader("Authorization") String authHeader){
-        String token = authHeader.substring(7);
-
-        LikeResponseDto likeResponseDto = this.likeService.unLikePost(postId, token);
+    public ResponseEntity<ApiResponseDto<?>> deleteLike(@PathVariable Long postId, @AuthenticationPrincipal JwtPrincipal principal){
+        LikeResponseDto likeResponseDto = this.likeService.unLikePost(postId, principal.userId());
         return ResponseEntity.ok().body(ApiResponseDto.success(likeResponseDto));
     }
 
@@ -77,8 +77,8 @@ public class UserController {
     @DeleteMapping("/me")
     public ResponseEntity<ApiResponseDto<?>> deleteUser(Authentication authentication){
         String email = authentication.getName();
-        //TODO : 삭제 로직 구현하기
-        this.userService.removeUser(email);
-        return ResponseEntity.ok().body(ApiResponseDto.success("test중"));
+        // 연관 데이터는 백그라운드에서 정리되므로 작성한 글의 양과 상관없이 바로 응답
+        CrudUserResponseDto crudUserResponseDto = this.userService.removeUser(email);
+        return ResponseEntity.ok().body(ApiResponseDto.success(crudUserResponseDto));
     }
 }
@@ -0,0 +1,21 @@
+package com.ktb.community.counter;
+
+import lombok.Getter;
+
+@Getter
+public enum CountColumn {
+    // count 테이블에서 write-behind로 갱신하는 컬럼
+    // 조회수는 버퍼가 넘치면 버릴 수 있지만, 댓글 수는 커밋된 댓글과 맞아야 하므로 버리지 않음
+    VIEW("view", "view_count", true),
+    COMMENT("comment", "comment_count", false);
+
+    private final String tag;
+    private final String columnName;
+    private final boolean droppable;
+
+    CountColumn(String tag, String columnName, boolean droppable) {
+        this.tag = tag;
+        this.columnName = columnName;
+        this.droppable = droppable;
+    }
+}
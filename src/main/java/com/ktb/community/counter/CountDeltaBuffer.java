@@ -0,0 +1,66 @@
+package com.ktb.community.counter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class CountDeltaBuffer {
+    // postId별 증감량을 LongAdder에 모아두는 버퍼
+    // 같은 게시글에 동시에 들어오는 증가도 락 없이 분산된 cell에 기록됨
+
+    // 버퍼에서 제거된 slot에 늦게 기록한 스레드가 자기 증감을 다시 담을 수 있도록 retired 표시를 함께 둠
+    private static final class Slot {
+        private final LongAdder adder = new LongAdder();
+        private volatile boolean retired;
+    }
+
+    private final Map<Long, Slot> deltas = new ConcurrentHashMap<>();
+
+    public void add(Long postId, long delta) {
+        Slot slot = this.deltas.computeIfAbsent(postId, key -> new Slot());
+        slot.adder.add(delta);
+        // 기록하는 사이 drain이 slot을 제거했다면 drain이 가져가지 못했을 수 있으므로 남은 값을 다시 담음
+        // retired는 drain이 마지막으로 값을 비우기 전에 설정되므로, 여기서 false를 읽었다면 이 증감은 drain에 포함됨
+        if (slot.retired) {
+            long late = slot.adder.sumThenReset();
+            if (late != 0L) {
+                add(postId, late);
+            }
+        }
+    }
+
+    public long pending(Long postId) {
+        Slot slot = this.deltas.get(postId);
+        return slot == null ? 0L : slot.adder.sum();
+    }
+
+    public long pendingTotal() {
+        long total = 0L;
+        for (Slot slot : this.deltas.values()) {
+            total += slot.adder.sum();
+        }
+        return total;
+    }
+
+    public int size() {
+        return this.deltas.size();
+    }
+
+    // 쌓인 증감량을 꺼내고 버퍼에서 제거, size()는 아직 flush되지 않은 게시글 수만 셈
+    public Map<Long, Long> drain() {
+        Map<Long, Long> drained = new HashMap<>();
+        for (Long postId : this.deltas.keySet()) {
+            this.deltas.computeIfPresent(postId, (key, slot) -> {
+                // 제거와 retired 표시를 같은 compute 안에서 처리해서, 이후 add는 새 slot을 만들거나 retired를 보고 다시 담음
+                slot.retired = true;
+                long delta = slot.adder.sumThenReset();
+                if (delta != 0L) {
+                    drained.put(key, delta);
+                }
+                return null;
+            });
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,183 @@
+package com.ktb.community.counter;
+
+import com.ktb.community.cache.FeedCache;
+import com.ktb.community.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class CountWriteBehind {
+    // count 테이블의 카운터를 요청마다 UPDATE 하지 않고 메모리에 모았다가 주기적으로 한 번에 반영
+    // 조회 요청은 row lock을 잡지 않고 버퍼에만 기록하며,
+    // flush는 "col = col + ?" 형태의 배치 UPDATE로 짧게 실행되며, batch-size 단위로 트랜잭션을 나눔
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FeedCache feedCache;
+    private final Executor executor;
+    private final int maxPendingPosts;
+    private final int batchSize;
+
+    private final Map<CountColumn, CountDeltaBuffer> buffers = new EnumMap<>(CountColumn.class);
+    private final Map<CountColumn, Counter> flushedCounters = new EnumMap<>(CountColumn.class);
+    private final Map<CountColumn, Counter> droppedCounters = new EnumMap<>(CountColumn.class);
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    public CountWriteBehind(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, FeedCache feedCache,
+                            MeterRegistry meterRegistry,
+                            @Qualifier("applicationTaskExecutor") Executor executor,
+                            @Value("${count.write-behind.max-pending-posts}") int maxPendingPosts,
+                            @Value("${count.write-behind.batch-size}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        // flush는 커밋 이후 콜백(addAfterCommit)에서도 호출되므로, 이미 커밋된 트랜잭션에 참여하지 않도록 항상 새 트랜잭션에서 실행
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.feedCache = feedCache;
+        this.executor = executor;
+        this.maxPendingPosts = maxPendingPosts;
+        this.batchSize = batchSize;
+
+        for (CountColumn column : CountColumn.values()) {
+            CountDeltaBuffer buffer = new CountDeltaBuffer();
+            this.buffers.put(column, buffer);
+            Gauge.builder("count.write_behind.pending", buffer, CountDeltaBuffer::pendingTotal)
+                    .tag("column", column.getTag())
+                    .description("아직 DB에 반영되지 않은 증감량")
+                    .register(meterRegistry);
+            this.flushedCounters.put(column, Counter.builder("count.write_behind.flushed")
+                    .tag("column", column.getTag())
+                    .register(meterRegistry));
+            this.droppedCounters.put(column, Counter.builder("count.write_behind.dropped")
+                    .tag("column", column.getTag())
+                    .register(meterRegistry));
+        }
+    }
+
+    public void add(CountColumn column, Long postId, long delta) {
+        CountDeltaBuffer buffer = this.buffers.get(column);
+        int size = buffer.size();
+        if (size >= this.maxPendingPosts * 2) {
+            if (column.isDroppable()) {
+                // DB 장애 등으로 flush가 계속 실패하면 메모리를 지키기 위해 버림
+                this.droppedCounters.get(column).increment(delta);
+                return;
+            }
+            // 버릴 수 없는 증감은 호출한 스레드에서 바로 flush해서 버퍼가 줄어들 때까지 기다리게 함
+            flushNow(column);
+        }
+        buffer.add(postId, delta);
+        if (size >= this.maxPendingPosts && this.flushRequested.compareAndSet(false, true)) {
+            // 버퍼가 가득 차면 다음 주기를 기다리지 않고 바로 flush 요청
+            try {
+                this.executor.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                // executor가 포화/종료 상태면 다음 주기의 flush에 맡기고, 이후 요청이 다시 flush를 요청할 수 있도록 되돌림
+                this.flushRequested.set(false);
+                log.warn("Failed to request an early {} flush: {}", column.getTag(), e.getMessage());
+            }
+        }
+    }
+
+    // 댓글 작성/삭제처럼 트랜잭션 결과에 따라 반영 여부가 정해지는 증감은 커밋 이후에 버퍼에 담음
+    public void addAfterCommit(CountColumn column, Long postId, long delta) {
+        AfterCommit.run(() -> add(column, postId, delta));
+    }
+
+    // 아직 flush되지 않은 증감량, 조회 응답에 더해서 보여줄 때 사용
+    public long pending(CountColumn column, Long postId) {
+        return this.buffers.get(column).pending(postId);
+    }
+
+    @Scheduled(fixedDelayString = "${count.write-behind.flush-interval-ms}")
+    public void flush() {
+        // 이미 다른 스레드가 flush 중이면 건너뜀
+        if (!this.flushLock.tryLock()) {
+            return;
+        }
+        try {
+            this.flushRequested.set(false);
+            for (CountColumn column : CountColumn.values()) {
+                flush(column);
+            }
+        } finally {
+            this.flushLock.unlock();
+        }
+    }
+
+    private void flushNow(CountColumn column) {
+        this.flushLock.lock();
+        try {
+            flush(column);
+        } finally {
+            this.flushLock.unlock();
+        }
+    }
+
+    private void flush(CountColumn column) {
+        CountDeltaBuffer buffer = this.buffers.get(column);
+        Map<Long, Long> drained = buffer.drain();
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        // 항상 같은 순서로 row lock을 잡도록 postId 순으로 정렬
+        List<Map.Entry<Long, Long>> rows = new ArrayList<>(drained.entrySet());
+        rows.sort(Map.Entry.comparingByKey());
+
+        String sql = "update count set " + column.getColumnName() + " = " + column.getColumnName() + " + ? where post_id = ?";
+        for (int from = 0; from < rows.size(); from += this.batchSize) {
+            List<Map.Entry<Long, Long>> chunk = rows.subList(from, Math.min(from + this.batchSize, rows.size()));
+            try {
+                // chunk 단위로 커밋해서 중간에 실패하면 chunk 전체가 롤백되고, 버퍼로 되돌린 증감이 두 번 반영되지 않음
+                this.transactionTemplate.executeWithoutResult(status ->
+                        this.jdbcTemplate.batchUpdate(sql, chunk, chunk.size(), (ps, row) -> {
+                            ps.setLong(1, row.getValue());
+                            ps.setLong(2, row.getKey());
+                        }));
+                this.flushedCounters.get(column).increment(chunk.stream().mapToLong(Map.Entry::getValue).sum());
+                // 커밋된 뒤에 피드 캐시에 알려야 캐시가 반영 전 값으로 다시 채워지지 않음
+                this.feedCache.countersChanged();
+            } catch (RuntimeException e) {
+                // 반영하지 못한 나머지는 버퍼로 되돌려 다음 주기에 다시 시도
+                List<Map.Entry<Long, Long>> remaining = rows.subList(from, rows.size());
+                remaining.forEach(row -> buffer.add(row.getKey(), row.getValue()));
+                log.warn("Failed to flush {} deltas for {} posts, will retry: {}", column.getTag(), remaining.size(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        this.flushLock.lock();
+        try {
+            for (CountColumn column : CountColumn.values()) {
+                flush(column);
+            }
+        } finally {
+            this.flushLock.unlock();
+        }
+    }
+}
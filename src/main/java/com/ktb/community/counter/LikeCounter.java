@@ -0,0 +1,116 @@
+package com.ktb.community.counter;
+
+import com.ktb.community.cache.FeedCache;
+import com.ktb.community.entity.LikeCountShard;
+import com.ktb.community.repository.CountRepository;
+import com.ktb.community.repository.LikeCountShardRepository;
+import com.ktb.community.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class LikeCounter {
+    // 좋아요 수를 게시글당 여러 slot 행에 나눠서 증감하는 카운터
+    // 좋아요를 누른 유저의 id로 slot을 고르기 때문에 인기 게시글이라도 한 행의 row lock에 몰리지 않음
+    // 주기적으로 slot 값을 count.like_count로 옮겨(rollup) slot 행을 0으로 유지
+    // rollup 대상은 테이블을 훑지 않고, 좋아요 증감이 커밋된 게시글 id를 메모리에 모아 두고 사용
+
+    private final LikeCountShardRepository likeCountShardRepository;
+    private final CountRepository countRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FeedCache feedCache;
+    private final int shards;
+    private final int rollupBatchSize;
+    // slot 값이 0이 아닐 수 있는 게시글 id
+    private final Set<Long> dirtyPostIds = ConcurrentHashMap.newKeySet();
+
+    public LikeCounter(LikeCountShardRepository likeCountShardRepository, CountRepository countRepository,
+                       JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, FeedCache feedCache,
+                       @Value("${like.counter.shards}") int shards,
+                       @Value("${like.counter.rollup-batch-size}") int rollupBatchSize) {
+        this.likeCountShardRepository = likeCountShardRepository;
+        this.countRepository = countRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.feedCache = feedCache;
+        this.shards = shards;
+        this.rollupBatchSize = rollupBatchSize;
+    }
+
+    // 게시글 생성 시 slot 행을 미리 만들어 두면 좋아요는 항상 UPDATE 경로만 타게 됨
+    public void createShards(Long postId) {
+        createShards(List.of(postId));
+    }
+
+    // 여러 게시글의 slot 행을 배치 한 번으로 생성
+    public void createShards(List<Long> postIds) {
+        List<Object[]> rows = new ArrayList<>(postIds.size() * this.shards);
+        for (Long postId : postIds) {
+            for (int slot = 0; slot < this.shards; slot++) {
+                rows.add(new Object[]{postId, slot});
+            }
+        }
+        this.jdbcTemplate.batchUpdate("insert into like_count_shard (post_id, slot, like_count) values (?, ?, 0)", rows);
+    }
+
+    // 호출하는 쪽의 트랜잭션 안에서 실행되어야 함
+    public void add(Long postId, Long userId, long delta) {
+        int slot = (int) Math.floorMod(userId, (long) this.shards);
+        this.likeCountShardRepository.addDelta(postId, slot, delta);
+        // 커밋 전에 rollup 대상에 넣으면 rollup이 아직 보이지 않는 증감을 놓친 채 id를 지울 수 있음
+        AfterCommit.run(() -> this.dirtyPostIds.add(postId));
+    }
+
+    // 이전 실행에서 rollup되지 못한 slot 값은 시작할 때 한 번만 테이블에서 찾음
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadDirtyPostIds() {
+        this.dirtyPostIds.addAll(this.likeCountShardRepository.findPostIdsToRollup());
+    }
+
+    @Scheduled(fixedDelayString = "${like.counter.rollup-interval-ms}")
+    public void rollup() {
+        boolean changed = false;
+        Iterator<Long> iterator = this.dirtyPostIds.iterator();
+        for (int processed = 0; processed < this.rollupBatchSize && iterator.hasNext(); processed++) {
+            Long postId = iterator.next();
+            // rollup 도중 커밋된 증감은 커밋 이후에 다시 id를 넣으므로 먼저 지워도 놓치지 않음
+            iterator.remove();
+            try {
+                // 게시글마다 짧은 트랜잭션으로 나눠서 slot 행을 오래 잡지 않도록 함
+                changed |= Boolean.TRUE.equals(this.transactionTemplate.execute(status -> rollup(postId)));
+            } catch (RuntimeException e) {
+                this.dirtyPostIds.add(postId);
+                log.warn("Failed to roll up like count shards of post {}: {}", postId, e.getMessage());
+            }
+        }
+        if (changed) {
+            // like_count가 커밋된 뒤에 피드 캐시에 알림
+            this.feedCache.countersChanged();
+        }
+    }
+
+    private boolean rollup(Long postId) {
+        List<LikeCountShard> shardRows = this.likeCountShardRepository.findForRollup(postId);
+        long sum = shardRows.stream().mapToLong(LikeCountShard::getLikeCount).sum();
+        if (sum != 0L) {
+            this.countRepository.addLikeCount(postId, sum);
+        }
+        // @Transactional에 의해 자동으로 UPDATE 쿼리 실행 (Dirty Checking)
+        shardRows.forEach(shard -> shard.setLikeCount(0L));
+        return sum != 0L;
+    }
+}
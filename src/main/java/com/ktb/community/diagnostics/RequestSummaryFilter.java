@@ -0,0 +1,96 @@
+package com.ktb.community.diagnostics;
+
+import com.ktb.community.metrics.QueryStats;
+import com.ktb.community.metrics.RequestMetricsFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Component
+// RequestMetricsFilter 안쪽에서 실행되어 요청의 SQL 수/시간(QueryStats)을 함께 기록
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class RequestSummaryFilter extends OncePerRequestFilter {
+    // 요청 하나를 key=value 형식의 한 줄로 요약해서 기록
+    // 목록 조회처럼 자주 호출되는 API는 컨트롤러 메서드별 비율로 샘플링하고, 5xx와 느린 요청은 항상 기록
+    // 로그 설정에서 따로 다룰 수 있도록 별도 logger(request.summary) 사용
+
+    private static final Logger summaryLog = LoggerFactory.getLogger("request.summary");
+
+    private final double defaultRate;
+    private final Map<String, Double> rates;
+    private final long slowMillis;
+
+    public RequestSummaryFilter(@Value("${diagnostics.request-log.default-rate}") double defaultRate,
+                                @Value("${diagnostics.request-log.rates}") String rates,
+                                @Value("${diagnostics.request-log.slow-ms}") long slowMillis) {
+        this.defaultRate = defaultRate;
+        this.rates = parseRates(rates);
+        this.slowMillis = slowMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            String handler = RequestMetricsFilter.handlerName(request);
+            int status = response.getStatus();
+            boolean forced = status >= 500 || durationMillis >= this.slowMillis;
+            if (forced || sampled(handler)) {
+                write(request, handler, status, durationMillis, forced);
+            }
+        }
+    }
+
+    private boolean sampled(String handler) {
+        double rate = this.rates.getOrDefault(handler, this.defaultRate);
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private void write(HttpServletRequest request, String handler, int status, long durationMillis, boolean forced) {
+        QueryStats stats = QueryStats.current();
+        int statements = stats != null ? stats.getStatements() : 0;
+        long dbMillis = stats != null ? TimeUnit.NANOSECONDS.toMillis(stats.getDbTimeNanos()) : 0L;
+        // query string에는 토큰 등이 들어갈 수 있으므로 path만 기록
+        if (forced) {
+            summaryLog.warn("method={} path={} handler={} status={} durationMs={} queries={} dbMs={}",
+                    request.getMethod(), request.getRequestURI(), handler, status, durationMillis, statements, dbMillis);
+        } else {
+            summaryLog.info("method={} path={} handler={} status={} durationMs={} queries={} dbMs={}",
+                    request.getMethod(), request.getRequestURI(), handler, status, durationMillis, statements, dbMillis);
+        }
+    }
+
+    // "CommentController#getCommentList=0.01,PostController#getPostList=0.05" 형식
+    static Map<String, Double> parseRates(String rates) {
+        Map<String, Double> parsed = new HashMap<>();
+        if (!StringUtils.hasText(rates)) {
+            return parsed;
+        }
+        for (String entry : rates.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid request log rate: " + entry);
+            }
+            parsed.put(entry.substring(0, separator).trim(), Double.parseDouble(entry.substring(separator + 1).trim()));
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,84 @@
+package com.ktb.community.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class StackTraceThrottle {
+    // 같은 위치에서 같은 예외가 반복되면 stack trace는 interval마다 한 번만 남기고 나머지는 한 줄로 기록
+    // 장애 상황에서 수백 줄짜리 stack trace가 요청마다 쌓여 로그 자체가 병목이 되는 것을 막음
+
+    private final long intervalMillis;
+    private final int maxKeys;
+    private final Counter suppressedCounter;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    private static final class Window {
+        private final AtomicLong lastLoggedAt;
+        private final LongAdder suppressed = new LongAdder();
+
+        private Window(long lastLoggedAt) {
+            this.lastLoggedAt = new AtomicLong(lastLoggedAt);
+        }
+    }
+
+    public StackTraceThrottle(MeterRegistry meterRegistry,
+                              @Value("${diagnostics.stack-trace.interval-ms}") long intervalMillis,
+                              @Value("${diagnostics.stack-trace.max-keys}") int maxKeys) {
+        this.intervalMillis = intervalMillis;
+        this.maxKeys = maxKeys;
+        this.suppressedCounter = meterRegistry.counter("log.stacktrace.suppressed");
+    }
+
+    public void error(Logger log, String message, Throwable e) {
+        error(log, message, e, System.currentTimeMillis());
+    }
+
+    // stack trace를 남겼으면 true
+    public boolean error(Logger log, String message, Throwable e, long nowMillis) {
+        Window window = this.windows.get(key(e));
+        if (window == null) {
+            // 예외 종류가 계속 늘어나는 경우에도 메모리가 무한히 늘어나지 않도록 제한
+            if (this.windows.size() >= this.maxKeys) {
+                suppress(log, message, e, null);
+                return false;
+            }
+            window = this.windows.computeIfAbsent(key(e), k -> new Window(nowMillis - this.intervalMillis));
+        }
+
+        long last = window.lastLoggedAt.get();
+        if (nowMillis - last >= this.intervalMillis && window.lastLoggedAt.compareAndSet(last, nowMillis)) {
+            long suppressed = window.suppressed.sumThenReset();
+            if (suppressed > 0) {
+                log.error("{} ({} identical errors without stack trace since last report)", message, suppressed, e);
+            } else {
+                log.error(message, e);
+            }
+            return true;
+        }
+        suppress(log, message, e, window);
+        return false;
+    }
+
+    private void suppress(Logger log, String message, Throwable e, Window window) {
+        if (window != null) {
+            window.suppressed.increment();
+        }
+        this.suppressedCounter.increment();
+        log.error("{}: {}", message, e.toString());
+    }
+
+    // 예외 타입 + 예외가 발생한 첫 번째 프레임
+    private static String key(Throwable e) {
+        StackTraceElement[] frames = e.getStackTrace();
+        return frames.length == 0 ? e.getClass().getName() : e.getClass().getName() + "@" + frames[0];
+    }
+}
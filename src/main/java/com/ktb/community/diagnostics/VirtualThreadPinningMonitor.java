@@ -0,0 +1,106 @@
+package com.ktb.community.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+    // virtual thread 모드에서 carrier thread를 붙잡는(pinning) 구간을 JFR 이벤트로 수집
+    // JDK 24부터 synchronized는 pinning을 일으키지 않지만, 네이티브 호출이나 클래스 초기화 중의 블로킹은 여전히 pinning됨
+    // Hibernate, MySQL 드라이버, HikariCP 중 어디에서 발생했는지 태그로 나눠서 기록
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final long LOG_INTERVAL_MILLIS = 60_000L;
+
+    private final MeterRegistry meterRegistry;
+    private final long thresholdMillis;
+    private final Map<String, Long> lastLoggedAt = new ConcurrentHashMap<>();
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${diagnostics.virtual-thread-pinning.threshold-ms}") long thresholdMillis) {
+        this.meterRegistry = meterRegistry;
+        this.thresholdMillis = thresholdMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        this.recordingStream = new RecordingStream();
+        this.recordingStream.enable(EVENT)
+                .withThreshold(Duration.ofMillis(this.thresholdMillis))
+                .withStackTrace();
+        this.recordingStream.onEvent(EVENT, this::record);
+        this.recordingStream.startAsync();
+        log.info("Virtual thread pinning monitor started (threshold {} ms)", this.thresholdMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (this.recordingStream != null) {
+            this.recordingStream.close();
+        }
+    }
+
+    private void record(RecordedEvent event) {
+        List<RecordedFrame> frames = frames(event.getStackTrace());
+        String source = source(frames);
+        Timer.builder("jvm.virtual_thread.pinned")
+                .tag("source", source)
+                .description("carrier thread가 pinning된 시간")
+                .register(this.meterRegistry)
+                .record(event.getDuration());
+
+        // 같은 원인의 로그가 쏟아지지 않도록 원인별로 1분에 한 번만 출력
+        long now = System.currentTimeMillis();
+        Long last = this.lastLoggedAt.get(source);
+        if (last == null || now - last >= LOG_INTERVAL_MILLIS) {
+            this.lastLoggedAt.put(source, now);
+            log.warn("Virtual thread pinned for {} ms ({}):\n{}", event.getDuration().toMillis(), source,
+                    frames.stream().limit(12)
+                            .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                                    + "(line " + frame.getLineNumber() + ")")
+                            .collect(Collectors.joining("\n")));
+        }
+    }
+
+    private static List<RecordedFrame> frames(RecordedStackTrace stackTrace) {
+        return stackTrace == null ? List.of() : stackTrace.getFrames();
+    }
+
+    private static String source(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith("com.mysql.")) {
+                return "mysql-driver";
+            }
+            if (type.startsWith("org.hibernate.")) {
+                return "hibernate";
+            }
+            if (type.startsWith("com.zaxxer.hikari.")) {
+                return "hikari";
+            }
+            if (type.startsWith("com.ktb.community.")) {
+                return "application";
+            }
+        }
+        return "other";
+    }
+}
@@ -1,5 +1,6 @@
 package com.ktb.community.dto.request;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -14,4 +15,8 @@ import lombok.NoArgsConstructor;
 public class CreateCommentRequestDto {
     @NotBlank(message = "내용을 입력해주세요")
     public String content;
+
+    // 답글을 달 댓글 id, 최상위 댓글이면 생략
+    @JsonProperty("parent_id")
+    public Long parentId;
 }
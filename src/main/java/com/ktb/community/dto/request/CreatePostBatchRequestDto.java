@@ -0,0 +1,20 @@
+package com.ktb.community.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class CreatePostBatchRequestDto {
+    // 한 트랜잭션이 너무 길어지지 않도록 요청당 게시글 수 제한
+    @NotEmpty(message = "게시글은 1개 이상이어야 합니다.")
+    @Size(max = 500, message = "한 번에 최대 500개까지 작성할 수 있습니다.")
+    @Valid
+    List<CreatePostRequestDto> posts = new ArrayList<>();
+}
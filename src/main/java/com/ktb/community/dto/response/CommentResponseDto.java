@@ -1,5 +1,6 @@
 package com.ktb.community.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,6 +8,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Getter
 @Builder
@@ -15,9 +17,21 @@ import java.time.LocalDateTime;
 public class CommentResponseDto {
     private Long id;
     private String author;
+    @JsonProperty("author_profile_image")
+    private String authorProfileImage;
     private String content;
     @JsonProperty("created_at")
     private LocalDateTime createdAt;
     @JsonProperty("is_mine")
     private boolean isMine;
+    // 답글이면 바로 위 댓글 id, 최상위 댓글이면 null
+    @JsonProperty("parent_id")
+    private Long parentId;
+    private int depth;
+    // 최상위 댓글에서만 채워짐, 전체 답글 수와 트리 순서로 앞쪽 일부 답글
+    @JsonProperty("reply_count")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer replyCount;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<CommentResponseDto> replies;
 }
@@ -14,7 +14,7 @@ import java.util.List;
 public class CursorCommentResponseDto<T> {
     private List<T> comments;
     @JsonProperty("next_cursor")
-    private Long nextCursor;
+    private String nextCursor;
     @JsonProperty("has_next")
     private Boolean hasNext;
 }
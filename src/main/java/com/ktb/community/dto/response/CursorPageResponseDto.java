@@ -14,7 +14,7 @@ import java.util.List;
 public class CursorPageResponseDto<T> {
     private List<T> posts;
     @JsonProperty("next_cursor")
-    private Long nextCursor;
+    private String nextCursor;
     @JsonProperty("has_next")
     private Boolean hasNext;
 }
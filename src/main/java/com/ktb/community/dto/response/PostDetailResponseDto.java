@@ -1,5 +1,6 @@
 package com.ktb.community.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,7 +11,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class PostDetailResponseDto {
@@ -18,6 +19,11 @@ public class PostDetailResponseDto {
     private String title;
     private String content;
     private String author;
+    @JsonProperty("author_profile_image")
+    private String authorProfileImage;
+    // 작성자 정보는 캐시된 본문에 넣지 않고 응답할 때 AuthorCache에서 채움 (닉네임 변경이 바로 반영되도록)
+    @JsonIgnore
+    private Long authorId;
     private Long views;
     private Long comments;
     private Long likes;
@@ -18,6 +18,8 @@ public class PostResponseDto {
     private String title;
     private String content;
     private String author;
+    @JsonProperty("author_profile_image")
+    private String authorProfileImage;
     private Long views;
     private Long comments;
     private Long likes;
@@ -12,4 +12,6 @@ import lombok.NoArgsConstructor;
 public class ReIssueRefreshTokenDto {
     @JsonProperty("refresh_token")
     public String refreshToken;
+    @JsonProperty("access_token")
+    public String accessToken;
 }
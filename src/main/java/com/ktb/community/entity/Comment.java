@@ -19,7 +19,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(indexes = {
-    @Index(name = "idx_comment_post_id", columnList = "post_id"),
+    // 게시글별 최상위 댓글 목록 (depth = 0, deleted_at is null, created_at desc, comment_id desc) keyset pagination용
+    // post_id로 시작하므로 기존 post_id 단일 인덱스의 역할도 대신함
+    @Index(name = "idx_comment_post_depth_deleted_at_created_at_id", columnList = "post_id, depth, deleted_at, created_at, comment_id"),
+    // 스레드(최상위 댓글) 단위로 답글을 path 순서(트리 순서)로 조회
+    @Index(name = "idx_comment_root_deleted_at_path", columnList = "root_id, deleted_at, path"),
 })
 public class Comment {
     @Id
@@ -49,6 +53,26 @@ public class Comment {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    // 답글이면 바로 위 댓글, 최상위 댓글이면 null
+    // 목록 조회는 parent를 따라가지 않고 root_id + path로 한 번에 가져오므로 자식 컬렉션은 매핑하지 않음
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    private Comment parent;
+
+    // 답글이 속한 최상위 댓글 id, 최상위 댓글이면 null
+    @Column(name = "root_id")
+    private Long rootId;
+
+    // 최상위 댓글은 0
+    @Column(nullable = false)
+    private int depth;
 
+    // 최상위 댓글 아래에서의 위치, 조상 답글들의 id를 고정 길이 36진수로 이어 붙인 값 (예: 0000002s/0000003b)
+    // 문자열 순서가 곧 트리를 깊이 우선으로 훑은 순서이고, 하위 답글은 path 접두사로 찾음
+    @Column(length = 255)
+    private String path;
 
+    // 최상위 댓글에만 유지하는 하위 답글 수, 목록에서 "답글 N개 더 보기"와 답글 조회 생략 여부에 사용
+    @Column(name = "reply_count", nullable = false)
+    private int replyCount;
 }
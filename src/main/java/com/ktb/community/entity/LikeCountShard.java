@@ -0,0 +1,23 @@
+package com.ktb.community.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "like_count_shard")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LikeCountShard {
+    // 게시글 하나의 좋아요 수를 여러 slot 행으로 나눠 저장
+    // 실제 좋아요 수 = count.like_count + 모든 slot의 like_count 합
+    @EmbeddedId
+    private LikeCountShardPK id;
+
+    @Column(nullable = false)
+    private Long likeCount = 0L;
+}
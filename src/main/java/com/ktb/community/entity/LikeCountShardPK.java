@@ -0,0 +1,21 @@
+package com.ktb.community.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class LikeCountShardPK implements Serializable {
+    @Column(name = "post_id")
+    private Long postId;
+    private Integer slot;
+}
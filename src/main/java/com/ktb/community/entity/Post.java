@@ -15,13 +15,17 @@ import java.time.LocalDateTime;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = {
+    // 목록 조회 (deleted_at is null, created_at desc, post_id desc) keyset pagination용
+    @Index(name = "idx_post_deleted_at_created_at_id", columnList = "deleted_at, created_at, post_id"),
+})
 public class Post {
     @Id
     @Column(name = "post_id")
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
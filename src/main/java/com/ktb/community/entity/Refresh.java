@@ -10,6 +10,10 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @Setter
+@Table(indexes = {
+    // 만료된 토큰을 chunk 단위로 지울 때 range scan에 사용
+    @Index(name = "idx_refresh_expiration_at", columnList = "expiration_at"),
+})
 public class Refresh {
     @Id
     @Column(name = "token_id")
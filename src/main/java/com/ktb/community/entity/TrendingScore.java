@@ -0,0 +1,28 @@
+package com.ktb.community.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "trending_score")
+public class TrendingScore {
+    // 인기 게시글 점수의 checkpoint, 재시작 시 이 값으로 순위를 복구
+    // 점수는 고정 기준 시각 대비 log 값이라 저장 시각과 상관없이 그대로 이어서 사용할 수 있음
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "log_score", nullable = false)
+    private double logScore;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,57 @@
+package com.ktb.community.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "user_deletion_job", indexes = {
+    // 재시작 시 끝나지 않은 작업을 찾을 때 사용
+    @Index(name = "idx_user_deletion_job_completed_at", columnList = "completed_at"),
+})
+public class UserDeletionJob {
+    // 회원 탈퇴 후 연관 데이터를 정리하는 백그라운드 작업의 진행 상황
+    // phase와 last_id(해당 phase에서 마지막으로 처리한 id)를 chunk마다 같은 트랜잭션에서 저장해서 재시작 후 이어서 처리
+
+    public enum Phase {
+        REFRESH_TOKENS, POSTS, COMMENTS, LIKES, DONE
+    }
+
+    @Id
+    @Column(name = "job_id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, unique = true)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Phase phase = Phase.REFRESH_TOKENS;
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId = 0L;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public UserDeletionJob(Long userId) {
+        this.userId = userId;
+    }
+}
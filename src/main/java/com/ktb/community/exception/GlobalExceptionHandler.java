@@ -1,8 +1,10 @@
 package com.ktb.community.exception;
 
+import com.ktb.community.diagnostics.StackTraceThrottle;
 import com.ktb.community.dto.response.ApiResponseDto;
 import com.ktb.community.exception.custom.*;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,65 +13,75 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+@Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+    // 4xx는 클라이언트 요청 문제이므로 stack trace 없이 debug로만 기록
+    // 5xx는 같은 예외가 반복될 때 stack trace가 로그를 뒤덮지 않도록 StackTraceThrottle을 거쳐서 기록
+    private final StackTraceThrottle stackTraceThrottle;
+
+    public GlobalExceptionHandler(StackTraceThrottle stackTraceThrottle) {
+        this.stackTraceThrottle = stackTraceThrottle;
+    }
+
     @ExceptionHandler(DataAccessException.class)
     public ResponseEntity<?> handleDatabaseException(DataAccessException e) {
-        System.err.println("[DataAccessException] " + e.getMessage());
-        e.printStackTrace();
+        this.stackTraceThrottle.error(log, "[DataAccessException]", e);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponseDto.error("A temporary database error has occurred. Please try again later."));
     }
 
     @ExceptionHandler(NullPointerException.class)
     public ResponseEntity<ApiResponseDto<?>> handleNullPointer(NullPointerException e) {
-        System.err.println("[NullPointerException] " + e.getMessage());
-        e.printStackTrace();
+        this.stackTraceThrottle.error(log, "[NullPointerException]", e);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponseDto.error("A null pointer error occurred."))
                 ;
     }
 
     @ExceptionHandler(DuplicateEmailException.class)
     public ResponseEntity<ApiResponseDto<?>> handleDuplicateEmail(DuplicateEmailException e) {
-        System.err.println("[DuplicateEmailException] " + e.getMessage());
+        log.debug("[DuplicateEmailException] {}", e.getMessage());
         return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponseDto.error(e.getMessage()));
     }
 
     @ExceptionHandler(InvalidPasswordException.class)
     public ResponseEntity<ApiResponseDto<?>> handleInvalidPasswordException(InvalidPasswordException e) {
-        System.err.println("[InvalidPasswordException] " + e.getMessage());
+        log.debug("[InvalidPasswordException] {}", e.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).body(ApiResponseDto.error(e.getMessage()));
     }
 
     @ExceptionHandler(InvalidRefreshTokenException.class)
     public ResponseEntity<ApiResponseDto<?>> handleInvalidRefreshToken(InvalidRefreshTokenException e) {
-        System.err.println("[InvalidRefreshTokenException] " + e.getMessage());
-        e.printStackTrace();
+        log.debug("[InvalidRefreshTokenException] {}", e.getMessage());
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponseDto.error(e.getMessage()));
     }
 
     @ExceptionHandler(InvalidCredentialsException.class)
     public ResponseEntity<ApiResponseDto<?>> handleInvalidCredentials(InvalidCredentialsException e) {
-        System.err.println("[InvalidCredentialsException] " + e.getMessage());
+        log.debug("[InvalidCredentialsException] {}", e.getMessage());
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ApiResponseDto.error(e.getMessage()));
     }
 
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<ApiResponseDto<?>> handleUserNotFound(UserNotFoundException e) {
-        System.err.println("[UserNotFoundException] " + e.getMessage());
-        e.printStackTrace();
+        log.debug("[UserNotFoundException] {}", e.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponseDto.error(e.getMessage()));
     }
 
     @ExceptionHandler(PostNotFoundException.class)
     public ResponseEntity<ApiResponseDto<?>> handlePostNotFound(PostNotFoundException e) {
-        System.err.println("[PostNotFoundException] " + e.getMessage());
+        log.debug("[PostNotFoundException] {}", e.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponseDto.error(e.getMessage()));
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponseDto<?>> handleInvalidCursor(InvalidCursorException e) {
+        log.debug("[InvalidCursorException] {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponseDto.error(e.getMessage()));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiResponseDto<?>> handleIllegalArgument(IllegalArgumentException e) {
-        System.err.println("[IllegalArgumentException] " + e.getMessage());
-        e.printStackTrace();
+        log.debug("[IllegalArgumentException] {}", e.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponseDto.error(e.getMessage()));
     }
 
@@ -82,7 +94,7 @@ public class GlobalExceptionHandler {
                 .findFirst()
                 .orElse("Validation failed");
 
-        System.err.println("[MethodArgumentNotValidException] " + errorMessage);
+        log.debug("[MethodArgumentNotValidException] {}", errorMessage);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(ApiResponseDto.error(errorMessage));
 
@@ -90,42 +102,37 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(CommentNotFoundException.class)
     public ResponseEntity<ApiResponseDto<?>> handleCommentNotFoundException(CommentNotFoundException e) {
-        System.err.println("[CommentNotFoundException] " + e.getMessage());
+        log.debug("[CommentNotFoundException] {}", e.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponseDto.error(e.getMessage()));
     }
 
     @ExceptionHandler(UnauthorizedException.class)
     public ResponseEntity<ApiResponseDto<?>> handleUnauthorizedException(UnauthorizedException e) {
-        System.err.println("[UnauthorizedException] " + e.getMessage());
-        e.printStackTrace();
+        log.debug("[UnauthorizedException] {}", e.getMessage());
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponseDto.error(e.getMessage()));
     }
 
     @ExceptionHandler(AlreadyExistLikeException.class)
     public ResponseEntity<ApiResponseDto<?>> handleAlreadyExistLikeException(AlreadyExistLikeException e) {
-        System.err.println("[AlreadyExistLikeException] " + e.getMessage());
+        log.debug("[AlreadyExistLikeException] {}", e.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).body(ApiResponseDto.error(e.getMessage()));
     }
 
     @ExceptionHandler(InvalidNicknameException.class)
     public ResponseEntity<ApiResponseDto<?>> handleInvalidNicknameException(InvalidNicknameException e) {
-        System.err.println("[InvalidNicknameException] " + e.getMessage());
+        log.debug("[InvalidNicknameException] {}", e.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ApiResponseDto.error(e.getMessage()));
     }
 
     @ExceptionHandler(DuplicateNicknameException.class)
     public ResponseEntity<ApiResponseDto<?>> handleDuplicateNicknameException(DuplicateNicknameException e) {
-        System.err.println("[DuplicateNicknameException] " + e.getMessage());
+        log.debug("[DuplicateNicknameException] {}", e.getMessage());
         return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponseDto.error(e.getMessage()));
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponseDto<?>> handleGeneralException(Exception e) {
-        System.err.println("=== Unexpected Exception Occurred ===");
-        System.err.println("Exception type: " + e.getClass().getName());
-        System.err.println("Exception message: " + e.getMessage());
-        e.printStackTrace();
-        System.err.println("=====================================");
+        this.stackTraceThrottle.error(log, "[Unexpected Exception]", e);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponseDto.error("A temporary error has occurred. Please try again later."));
     }
 
@@ -1,6 +1,9 @@
 package com.ktb.community.jwt;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.community.cache.UserDetailsCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -26,6 +29,7 @@ import java.security.SignatureException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
@@ -34,13 +38,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     // OncePerRequestFilter는 요청당 1번만 수행됨
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final UserDetailsCache userDetailsCache;
+    private final Timer validVerifyTimer;
+    private final Timer invalidVerifyTimer;
 
     @Autowired
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService, UserDetailsCache userDetailsCache, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
         // 구현한 customUserDetailService를 spring이 직접 주입해줌
         // 결합도를 낮출 수 있음
         this.userDetailsService = userDetailsService;
+        this.userDetailsCache = userDetailsCache;
+        this.validVerifyTimer = Timer.builder("auth.jwt.verify").tag("result", "valid").register(meterRegistry);
+        this.invalidVerifyTimer = Timer.builder("auth.jwt.verify").tag("result", "invalid").register(meterRegistry);
+    }
+
+    // 토큰 검증 시간을 결과(유효/무효)별로 기록
+    private JwtPrincipal verify(String jwt) {
+        long start = System.nanoTime();
+        JwtPrincipal principal = this.jwtUtil.parseAndVerify(jwt);
+        (principal != null ? this.validVerifyTimer : this.invalidVerifyTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return principal;
     }
 
     // 요청에서 jwt값을 추출하는 함수
@@ -64,7 +82,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // 직접 응답을 만들어 보낼때에는 HttpServletResponse 객체를 통해 수동으로 설정해줘야함
             response.getWriter().write(new ObjectMapper().writeValueAsString(error));
         } catch (IOException e) {
-            log.error("error", e);
+            // 클라이언트가 연결을 끊은 경우 등, 응답을 쓰지 못한 것은 stack trace 없이 기록
+            log.warn("Failed to write unauthorized response: {}", e.toString());
         }
 
     }
@@ -76,19 +95,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = this.getJwtFromRequest(request);
             // StringUtils.hasText 메서드는
             // 문자열이 null이 아니고, 길이가 0보다크고, 공백이아닌 문자를 하나라도 갖고있으면 true를 반환
-            if (StringUtils.hasText(jwt) && this.jwtUtil.validateToken(jwt)) {
+            // 서명 검증과 claim 추출을 한 번만 수행하고, 결과를 principal로 등록해 이후 단계에서 다시 파싱하지 않음
+            JwtPrincipal principal = StringUtils.hasText(jwt) ? this.verify(jwt) : null;
+            if (principal != null) {
                 // jwt가 값을 가지고 있고, 유효성이 검증 됐다면
-                String email = this.jwtUtil.extractEmailFromToken(jwt);
+                String email = principal.email();
 
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(email);
+                // 캐시에 없을 때만 DB에서 조회
+                UserDetails userDetails = this.userDetailsCache.get(email, () -> this.userDetailsService.loadUserByUsername(email));
                 // UsernamePasswordAuthenticationToken클래스는 사용자 인증을 처리하는 중요한 역할을 수행
                 // Spring Security에서 사용자 이름과 비밀번호를 기반으로 인증 요청을 나타내는 클래스
                 // 사용자로부터 입력받은 사용자 이름과 비밀번호를 AuthenticationManager에 전달하여 인증을 수행
                 // 인자로는 principal, credentials, authorities 를 받음
-                // principal은 사용자 이름
+                // principal은 사용자 이름 (여기서는 토큰에서 꺼낸 JwtPrincipal)
                 // credentials은 비밀번호
                 // authorities는 사용자의 권한
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(principal, null, userDetails.getAuthorities());
                 // 인증된 사용자의 정보를 담는 Authentication 객체를 직접 생성하는 코드
 
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
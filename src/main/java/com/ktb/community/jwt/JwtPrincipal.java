@@ -0,0 +1,14 @@
+package com.ktb.community.jwt;
+
+import java.security.Principal;
+import java.time.LocalDateTime;
+
+// 필터에서 토큰을 한 번 검증하고 꺼낸 claim들
+// SecurityContext의 principal로 등록되어 컨트롤러에서 @AuthenticationPrincipal로 받아 사용
+// getName()은 email을 반환하므로 authentication.getName()도 그대로 email을 돌려줌
+public record JwtPrincipal(Long userId, String email, LocalDateTime issuedAt, LocalDateTime expiresAt) implements Principal {
+    @Override
+    public String getName() {
+        return this.email;
+    }
+}
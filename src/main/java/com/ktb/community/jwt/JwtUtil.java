@@ -23,6 +23,8 @@ import java.util.Date;
 @Component
 public class JwtUtil {
     private final Key key;
+    // JwtParser는 불변 객체라 스레드 간에 공유해도 안전하므로 한 번만 만들어서 재사용
+    private final JwtParser jwtParser;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
 
@@ -32,6 +34,7 @@ public class JwtUtil {
 
         byte[] bytes = Base64.getDecoder().decode(secretKey);
         this.key = Keys.hmacShaKeyFor(bytes);
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(this.key).build();
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
     }
@@ -62,49 +65,39 @@ public class JwtUtil {
                 .compact();
     }
 
-    public String extractEmailFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(this.key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.get("email", String.class);
-    }
-
-    public boolean validateToken(String token) {
+    // 서명 검증과 claim 추출을 한 번에 수행, 유효하지 않은 토큰이면 null 반환
+    public JwtPrincipal parseAndVerify(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(this.key)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            Claims claims = parseClaims(token);
+            return new JwtPrincipal(
+                    Long.parseLong(claims.getSubject()),
+                    claims.get("email", String.class),
+                    claims.getIssuedAt() == null ? null : toLocalDateTime(claims.getIssuedAt()),
+                    toLocalDateTime(claims.getExpiration()));
         } catch (SecurityException | MalformedJwtException e) {
-            log.info("Invalid JWT Token : ", e);
+            // 만료/위조 토큰은 흔한 401이므로 stack trace 없이 debug로만 기록
+            log.debug("Invalid JWT Token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
-            log.info("Expired JWT Token : ", e);
+            log.debug("Expired JWT Token: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
-            log.info("Unsupported JWT Token", e);
+            log.debug("Unsupported JWT Token: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
-            log.info("JWT claims string is empty", e);
+            // subject가 숫자가 아닌 경우(NumberFormatException)도 여기에 포함
+            log.debug("JWT claims string is empty: {}", e.getMessage());
         }
 
-        return false;
+        return null;
     }
 
     public LocalDateTime getExpirationFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(this.key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        Date expiration = claims.getExpiration();
-        return expiration.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
+        return toLocalDateTime(parseClaims(token).getExpiration());
+    }
+
+    private Claims parseClaims(String token) {
+        return this.jwtParser.parseClaimsJws(token).getBody();
     }
 
-    public Long extractUserIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(this.key).build().parseClaimsJws(token).getBody();
-        return Long.parseLong(claims.getSubject());
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
     }
 }
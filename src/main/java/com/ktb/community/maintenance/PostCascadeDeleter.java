@@ -0,0 +1,165 @@
+package com.ktb.community.maintenance;
+
+import com.ktb.community.counter.CountColumn;
+import com.ktb.community.counter.CountWriteBehind;
+import com.ktb.community.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+@Component
+public class PostCascadeDeleter {
+    // 게시글 삭제 시 댓글, 이미지, 좋아요를 엔티티로 읽지 않고 UPDATE ... LIMIT 로 chunk 단위 soft delete
+    // async 모드에서는 게시글 삭제가 커밋된 뒤 백그라운드에서 chunk마다 autocommit으로 처리해서 삭제 API는 일정한 시간에 끝남
+    // 중간에 서버가 내려가도 주기적인 sweep이 삭제된 게시글에 남은 행을 마저 정리함
+    // sweep은 최근 sweep-window-ms 안에 삭제된 게시글만 확인해서, 삭제된 게시글이 쌓여도 (deleted_at, ...) 인덱스 범위만 읽음
+
+    private enum Target {
+        COMMENT("comment"),
+        IMAGE("image"),
+        LIKE("`like`");
+
+        private final String table;
+
+        Target(String table) {
+            this.table = table;
+        }
+    }
+
+    private static final String FIND_UNFINISHED = "select p.post_id from post p where p.deleted_at >= ? and (" +
+            "exists (select 1 from comment c where c.post_id = p.post_id and c.deleted_at is null) or " +
+            "exists (select 1 from image i where i.post_id = p.post_id and i.deleted_at is null) or " +
+            "exists (select 1 from `like` l where l.post_id = p.post_id and l.deleted_at is null)) limit ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CountWriteBehind countWriteBehind;
+    private final Executor executor;
+    private final int chunkSize;
+    private final boolean async;
+    private final int sweepBatchSize;
+    private final long sweepWindowMillis;
+
+    private final Counter commentRows;
+    private final Counter imageRows;
+    private final Counter likeRows;
+
+    public PostCascadeDeleter(JdbcTemplate jdbcTemplate, CountWriteBehind countWriteBehind, MeterRegistry meterRegistry,
+                              @Qualifier("applicationTaskExecutor") Executor executor,
+                              @Value("${post.cascade-delete.chunk-size}") int chunkSize,
+                              @Value("${post.cascade-delete.async}") boolean async,
+                              @Value("${post.cascade-delete.sweep-batch-size}") int sweepBatchSize,
+                              @Value("${post.cascade-delete.sweep-window-ms}") long sweepWindowMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.countWriteBehind = countWriteBehind;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.async = async;
+        this.sweepBatchSize = sweepBatchSize;
+        this.sweepWindowMillis = sweepWindowMillis;
+
+        this.commentRows = rowCounter(meterRegistry, "comment");
+        this.imageRows = rowCounter(meterRegistry, "image");
+        this.likeRows = rowCounter(meterRegistry, "like");
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, String table) {
+        return Counter.builder("post.cascade_delete.rows")
+                .description("게시글 삭제로 함께 soft delete된 행 수")
+                .tag("table", table)
+                .register(meterRegistry);
+    }
+
+    // 게시글 soft delete와 같은 트랜잭션에서 호출
+    // sync 모드면 현재 트랜잭션 안에서 바로 처리하고, async 모드면 커밋 이후 백그라운드로 넘김
+    public void cascade(Long postId) {
+        LocalDateTime deletedAt = LocalDateTime.now();
+        if (!this.async) {
+            long comments = deleteAll(Target.COMMENT, postId, deletedAt);
+            deleteAll(Target.IMAGE, postId, deletedAt);
+            deleteAll(Target.LIKE, postId, deletedAt);
+            if (comments > 0) {
+                this.countWriteBehind.addAfterCommit(CountColumn.COMMENT, postId, -comments);
+            }
+            return;
+        }
+
+        AfterCommit.run(() -> {
+            try {
+                this.executor.execute(() -> cascadeNow(postId, deletedAt));
+            } catch (RejectedExecutionException e) {
+                // 실행기가 가득 찼거나 종료 중이면 다음 sweep에서 처리
+                log.warn("Deferred cascade delete of post {} to the next sweep: {}", postId, e.getMessage());
+            }
+        });
+    }
+
+    // 이미 삭제된 게시글의 연관 데이터를 지금 바로 정리, 트랜잭션 밖에서 호출하면 chunk마다 autocommit으로 처리
+    public void cascadeNow(Long postId) {
+        cascadeNow(postId, LocalDateTime.now());
+    }
+
+    private void cascadeNow(Long postId, LocalDateTime deletedAt) {
+        try {
+            long comments = deleteAll(Target.COMMENT, postId, deletedAt);
+            if (comments > 0) {
+                this.countWriteBehind.add(CountColumn.COMMENT, postId, -comments);
+            }
+            deleteAll(Target.IMAGE, postId, deletedAt);
+            deleteAll(Target.LIKE, postId, deletedAt);
+        } catch (RuntimeException e) {
+            log.warn("Failed to cascade delete of post {}, will retry on the next sweep: {}", postId, e.getMessage());
+        }
+    }
+
+    // 최근에 삭제되었지만 아직 댓글/이미지/좋아요가 남아 있는 게시글을 찾아 마저 정리
+    @Scheduled(fixedDelayString = "${post.cascade-delete.sweep-interval-ms}")
+    public void sweep() {
+        List<Long> postIds;
+        try {
+            LocalDateTime since = LocalDateTime.now().minus(Duration.ofMillis(this.sweepWindowMillis));
+            postIds = this.jdbcTemplate.queryForList(FIND_UNFINISHED, Long.class, since, this.sweepBatchSize);
+        } catch (RuntimeException e) {
+            log.warn("Failed to look up unfinished post cascades: {}", e.getMessage());
+            return;
+        }
+        LocalDateTime deletedAt = LocalDateTime.now();
+        postIds.forEach(postId -> cascadeNow(postId, deletedAt));
+        if (!postIds.isEmpty()) {
+            log.info("Finished cascade delete of {} posts", postIds.size());
+        }
+    }
+
+    private long deleteAll(Target target, Long postId, LocalDateTime deletedAt) {
+        String sql = "update " + target.table + " set deleted_at = ? where post_id = ? and deleted_at is null limit ?";
+        long total = 0L;
+        while (true) {
+            int updated = this.jdbcTemplate.update(sql, deletedAt, postId, this.chunkSize);
+            total += updated;
+            if (updated < this.chunkSize) {
+                break;
+            }
+        }
+        counter(target).increment(total);
+        return total;
+    }
+
+    private Counter counter(Target target) {
+        return switch (target) {
+            case COMMENT -> this.commentRows;
+            case IMAGE -> this.imageRows;
+            case LIKE -> this.likeRows;
+        };
+    }
+}
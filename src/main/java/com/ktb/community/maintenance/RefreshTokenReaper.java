@@ -0,0 +1,107 @@
+package com.ktb.community.maintenance;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class RefreshTokenReaper {
+    // 만료된 refresh token을 expiration_at 인덱스를 따라 chunk 단위로 지우는 스케줄러
+    // chunk마다 autocommit으로 짧게 끝나서 row lock과 undo log가 쌓이지 않고,
+    // chunk 사이에 쉬고 최대 실행 시간을 넘기면 다음 주기로 미뤄 운영 트래픽에 주는 영향을 제한
+
+    private static final String DELETE_EXPIRED = "delete from refresh where expiration_at < ? limit ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final long maxRuntimeMillis;
+    private final ReentrantLock reapLock = new ReentrantLock();
+
+    private final Counter reapedCounter;
+    private final Timer chunkTimer;
+
+    public RefreshTokenReaper(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                              @Value("${auth.refresh-reaper.chunk-size}") int chunkSize,
+                              @Value("${auth.refresh-reaper.pause-ms}") long pauseMillis,
+                              @Value("${auth.refresh-reaper.max-runtime-ms}") long maxRuntimeMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+        this.maxRuntimeMillis = maxRuntimeMillis;
+
+        this.reapedCounter = Counter.builder("auth.refresh.reaper.rows")
+                .description("삭제한 만료 refresh token 수")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("auth.refresh.reaper.chunk")
+                .description("chunk 하나를 삭제하는 데 걸린 시간")
+                .register(meterRegistry);
+    }
+
+    // 이번 실행에서 삭제한 행 수를 반환
+    @Scheduled(fixedDelayString = "${auth.refresh-reaper.interval-ms}")
+    public long reap() {
+        // 이미 다른 스레드가 실행 중이면 건너뜀
+        if (!this.reapLock.tryLock()) {
+            return 0L;
+        }
+        try {
+            // 실행 시작 시각을 기준으로 고정해서, 실행 중에 만료되는 토큰 때문에 끝나지 않는 일이 없도록 함
+            LocalDateTime cutoff = LocalDateTime.now();
+            long deadline = System.nanoTime() + this.maxRuntimeMillis * 1_000_000L;
+            long total = 0L;
+
+            while (true) {
+                Timer.Sample sample = Timer.start();
+                int deleted = this.jdbcTemplate.update(DELETE_EXPIRED, cutoff, this.chunkSize);
+                sample.stop(this.chunkTimer);
+                this.reapedCounter.increment(deleted);
+                total += deleted;
+
+                if (deleted < this.chunkSize) {
+                    break;
+                }
+                if (System.nanoTime() >= deadline) {
+                    log.info("Refresh token reaper hit its time budget after {} rows, continuing next run", total);
+                    break;
+                }
+                if (!pause()) {
+                    break;
+                }
+            }
+
+            if (total > 0) {
+                log.info("Reaped {} expired refresh tokens", total);
+            }
+            return total;
+        } catch (RuntimeException e) {
+            log.warn("Failed to reap expired refresh tokens: {}", e.getMessage());
+            return 0L;
+        } finally {
+            this.reapLock.unlock();
+        }
+    }
+
+    private boolean pause() {
+        if (this.pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(this.pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            // 종료 중이면 남은 작업은 다음 실행으로 미룸
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
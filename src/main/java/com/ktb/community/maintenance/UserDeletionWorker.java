@@ -0,0 +1,322 @@
+package com.ktb.community.maintenance;
+
+import com.ktb.community.cache.FeedCache;
+import com.ktb.community.cache.PostDetailCache;
+import com.ktb.community.counter.CountColumn;
+import com.ktb.community.counter.CountWriteBehind;
+import com.ktb.community.counter.LikeCounter;
+import com.ktb.community.entity.UserDeletionJob;
+import com.ktb.community.entity.UserDeletionJob.Phase;
+import com.ktb.community.repository.UserDeletionJobRepository;
+import com.ktb.community.search.PostSearchIndex;
+import com.ktb.community.trending.TrendEvent;
+import com.ktb.community.trending.TrendingRanker;
+import com.ktb.community.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+@Component
+public class UserDeletionWorker {
+    // 회원 탈퇴 후 refresh token, 작성한 게시글(댓글/이미지/좋아요 포함), 작성한 댓글, 누른 좋아요를 순서대로 정리하는 백그라운드 작업
+    // 각 phase는 id 순서의 keyset으로 chunk를 읽고, chunk 처리와 checkpoint 저장을 같은 짧은 트랜잭션에서 실행
+    // 서버가 재시작되면 끝나지 않은 작업을 저장된 checkpoint부터 이어서 처리
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserDeletionJobRepository userDeletionJobRepository;
+    private final PostCascadeDeleter postCascadeDeleter;
+    private final CountWriteBehind countWriteBehind;
+    private final LikeCounter likeCounter;
+    private final FeedCache feedCache;
+    private final PostDetailCache postDetailCache;
+    private final PostSearchIndex postSearchIndex;
+    private final TrendingRanker trendingRanker;
+    private final Executor executor;
+    private final int chunkSize;
+    private final long pauseMillis;
+
+    // 같은 작업이 이 서버에서 동시에 두 번 실행되지 않도록 실행 중인 작업 id를 보관
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private final Map<Phase, Counter> rowCounters = new EnumMap<>(Phase.class);
+
+    public UserDeletionWorker(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                              UserDeletionJobRepository userDeletionJobRepository, PostCascadeDeleter postCascadeDeleter,
+                              CountWriteBehind countWriteBehind, LikeCounter likeCounter,
+                              FeedCache feedCache, PostDetailCache postDetailCache, PostSearchIndex postSearchIndex,
+                              TrendingRanker trendingRanker, MeterRegistry meterRegistry,
+                              @Qualifier("applicationTaskExecutor") Executor executor,
+                              @Value("${user.deletion.chunk-size}") int chunkSize,
+                              @Value("${user.deletion.pause-ms}") long pauseMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userDeletionJobRepository = userDeletionJobRepository;
+        this.postCascadeDeleter = postCascadeDeleter;
+        this.countWriteBehind = countWriteBehind;
+        this.likeCounter = likeCounter;
+        this.feedCache = feedCache;
+        this.postDetailCache = postDetailCache;
+        this.postSearchIndex = postSearchIndex;
+        this.trendingRanker = trendingRanker;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+
+        for (Phase phase : Phase.values()) {
+            this.rowCounters.put(phase, Counter.builder("user.deletion.rows")
+                    .description("회원 탈퇴 작업에서 정리한 행 수")
+                    .tag("phase", phase.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    // 탈퇴 트랜잭션이 커밋된 뒤 백그라운드에서 작업 시작
+    public void startAfterCommit(Long jobId) {
+        AfterCommit.run(() -> submit(jobId));
+    }
+
+    // 서버 시작 시, 그리고 주기적으로 끝나지 않은 작업(실패, 재시작 등)을 다시 실행
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${user.deletion.resume-interval-ms}", initialDelayString = "${user.deletion.resume-interval-ms}")
+    public void resumeUnfinished() {
+        try {
+            this.userDeletionJobRepository.findByCompletedAtIsNullOrderByIdAsc()
+                    .forEach(job -> submit(job.getId()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to look up unfinished user deletion jobs: {}", e.getMessage());
+        }
+    }
+
+    private void submit(Long jobId) {
+        if (!this.running.add(jobId)) {
+            return;
+        }
+        try {
+            this.executor.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    this.running.remove(jobId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.running.remove(jobId);
+            log.warn("Deferred user deletion job {} to the next resume: {}", jobId, e.getMessage());
+        }
+    }
+
+    private void run(Long jobId) {
+        UserDeletionJob job = this.userDeletionJobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getCompletedAt() != null) {
+            return;
+        }
+        Long userId = job.getUserId();
+        Phase phase = job.getPhase();
+        long lastId = job.getLastId();
+
+        try {
+            while (phase != Phase.DONE) {
+                // chunk 하나를 처리하고 checkpoint까지 저장, 해당 phase에 남은 행이 없으면 null
+                Long processedUpTo = processChunk(jobId, userId, phase, lastId);
+                if (processedUpTo == null) {
+                    phase = Phase.values()[phase.ordinal() + 1];
+                    lastId = 0L;
+                    checkpoint(jobId, phase, lastId);
+                } else {
+                    lastId = processedUpTo;
+                }
+                if (!pause()) {
+                    return;
+                }
+            }
+            this.feedCache.invalidateAfterCommit();
+            log.info("Finished user deletion job {} for user {}", jobId, userId);
+        } catch (RuntimeException e) {
+            log.warn("User deletion job {} stopped at {} after id {}, will resume later: {}", jobId, phase, lastId, e.getMessage());
+        }
+    }
+
+    private Long processChunk(Long jobId, Long userId, Phase phase, long lastId) {
+        return switch (phase) {
+            case REFRESH_TOKENS -> deleteRefreshTokens(jobId, userId, lastId);
+            case POSTS -> deletePosts(jobId, userId, lastId);
+            case COMMENTS -> deleteComments(jobId, userId, lastId);
+            case LIKES -> deleteLikes(jobId, userId, lastId);
+            case DONE -> null;
+        };
+    }
+
+    private Long deleteRefreshTokens(Long jobId, Long userId, long lastId) {
+        List<Long> tokenIds = this.jdbcTemplate.queryForList(
+                "select token_id from refresh where user_id = ? and token_id > ? order by token_id limit ?",
+                Long.class, userId, lastId, this.chunkSize);
+        if (tokenIds.isEmpty()) {
+            return null;
+        }
+        Long last = tokenIds.getLast();
+        this.transactionTemplate.executeWithoutResult(status -> {
+            int deleted = this.jdbcTemplate.update("delete from refresh where token_id in (" + placeholders(tokenIds.size()) + ")", tokenIds.toArray());
+            this.rowCounters.get(Phase.REFRESH_TOKENS).increment(deleted);
+            checkpoint(jobId, Phase.REFRESH_TOKENS, last);
+        });
+        return last;
+    }
+
+    private Long deletePosts(Long jobId, Long userId, long lastId) {
+        List<Long> postIds = this.jdbcTemplate.queryForList(
+                "select post_id from post where user_id = ? and post_id > ? and deleted_at is null order by post_id limit ?",
+                Long.class, userId, lastId, this.chunkSize);
+        if (postIds.isEmpty()) {
+            return null;
+        }
+        Long last = postIds.getLast();
+        List<Object> args = new ArrayList<>();
+        args.add(LocalDateTime.now());
+        args.addAll(postIds);
+        this.transactionTemplate.executeWithoutResult(status -> {
+            int deleted = this.jdbcTemplate.update("update post set deleted_at = ? where post_id in (" + placeholders(postIds.size()) + ")", args.toArray());
+            this.rowCounters.get(Phase.POSTS).increment(deleted);
+            checkpoint(jobId, Phase.POSTS, last);
+        });
+
+        // 게시글이 먼저 숨겨진 뒤 연관 데이터를 정리, 여기서 멈추더라도 PostCascadeDeleter의 sweep이 마저 처리
+        for (Long postId : postIds) {
+            this.postCascadeDeleter.cascadeNow(postId);
+            this.postDetailCache.bumpVersionAfterCommit(postId);
+            this.postSearchIndex.markRemovedAfterCommit(postId);
+            this.trendingRanker.removeAfterCommit(postId);
+        }
+        return last;
+    }
+
+    // 감소시킬 댓글 수, 답글 수는 트랜잭션 안에서 잠근 행으로 계산
+    // 트랜잭션 밖에서 조회하면 그 사이 사용자가 직접 삭제한 댓글까지 한 번 더 감소시킬 수 있음
+    // 댓글 삭제(CommentService.removeComment)와 같이 하위 답글도 함께 삭제해서, 다른 사용자의 답글이 보이지 않는 채로 댓글 수에 남지 않도록 함
+    private Long deleteComments(Long jobId, Long userId, long lastId) {
+        return this.transactionTemplate.execute(status -> {
+            List<Map<String, Object>> rows = this.jdbcTemplate.queryForList(
+                    "select comment_id, post_id, root_id, path, created_at from comment where user_id = ? and comment_id > ? and deleted_at is null order by comment_id limit ? for update",
+                    userId, lastId, this.chunkSize);
+            if (rows.isEmpty()) {
+                return null;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            List<Object> args = new ArrayList<>();
+            args.add(now);
+            for (Map<String, Object> row : rows) {
+                args.add(((Number) row.get("comment_id")).longValue());
+            }
+            Long last = ((Number) rows.getLast().get("comment_id")).longValue();
+            int deleted = this.jdbcTemplate.update("update comment set deleted_at = ? where comment_id in (" + placeholders(rows.size()) + ")", args.toArray());
+
+            Map<Long, Long> perPost = new LinkedHashMap<>();
+            // 답글이면 최상위 댓글의 reply_count도 함께 줄임
+            Map<Long, Long> perRoot = new LinkedHashMap<>();
+            for (Map<String, Object> row : rows) {
+                long postId = ((Number) row.get("post_id")).longValue();
+                // 이미 삭제된 답글은 다시 세지 않으므로, 같은 chunk에 조상/자손 댓글이 함께 있어도 한 번만 감소
+                int replies;
+                if (row.get("root_id") == null) {
+                    replies = this.jdbcTemplate.update("update comment set deleted_at = ? where root_id = ? and deleted_at is null",
+                            now, row.get("comment_id"));
+                } else {
+                    long rootId = ((Number) row.get("root_id")).longValue();
+                    replies = this.jdbcTemplate.update("update comment set deleted_at = ? where root_id = ? and deleted_at is null and path like ?",
+                            now, rootId, row.get("path") + "/%");
+                    perRoot.merge(rootId, 1L + replies, Long::sum);
+                }
+                long removed = 1L + replies;
+                deleted += replies;
+                perPost.merge(postId, removed, Long::sum);
+                // 하위 답글은 댓글보다 나중에 작성되었으므로 댓글 작성 시각으로 빼면 원래 더한 값보다 많이 빼지 않음
+                this.trendingRanker.removeEventsAfterCommit(postId, TrendEvent.COMMENT, 1 + replies, toLocalDateTime(row.get("created_at")));
+            }
+
+            this.rowCounters.get(Phase.COMMENTS).increment(deleted);
+            if (!perRoot.isEmpty()) {
+                this.jdbcTemplate.batchUpdate("update comment set reply_count = reply_count - ? where comment_id = ?",
+                        perRoot.entrySet().stream().map(e -> new Object[]{e.getValue(), e.getKey()}).toList());
+            }
+            perPost.forEach((postId, count) -> this.countWriteBehind.addAfterCommit(CountColumn.COMMENT, postId, -count));
+            checkpoint(jobId, Phase.COMMENTS, last);
+            this.feedCache.countersChangedAfterCommit();
+            return last;
+        });
+    }
+
+    private Long deleteLikes(Long jobId, Long userId, long lastId) {
+        return this.transactionTemplate.execute(status -> {
+            // like 테이블의 PK가 (user_id, post_id)이므로 post_id 순서로 keyset 조회
+            // 좋아요 취소와 겹치더라도 한 번만 감소하도록 잠근 행만 삭제하고 감소
+            List<Long> postIds = this.jdbcTemplate.queryForList(
+                    "select post_id from `like` where user_id = ? and post_id > ? and deleted_at is null order by post_id limit ? for update",
+                    Long.class, userId, lastId, this.chunkSize);
+            if (postIds.isEmpty()) {
+                return null;
+            }
+            Long last = postIds.getLast();
+            List<Object> args = new ArrayList<>();
+            args.add(LocalDateTime.now());
+            args.add(userId);
+            args.addAll(postIds);
+
+            int deleted = this.jdbcTemplate.update("update `like` set deleted_at = ? where user_id = ? and post_id in (" + placeholders(postIds.size()) + ")", args.toArray());
+            this.rowCounters.get(Phase.LIKES).increment(deleted);
+            // 좋아요 수는 누른 유저 기준 slot에서 감소
+            postIds.forEach(postId -> this.likeCounter.add(postId, userId, -1L));
+            checkpoint(jobId, Phase.LIKES, last);
+            this.feedCache.countersChangedAfterCommit();
+            return last;
+        });
+    }
+
+    private void checkpoint(Long jobId, Phase phase, long lastId) {
+        LocalDateTime now = LocalDateTime.now();
+        this.jdbcTemplate.update("update user_deletion_job set phase = ?, last_id = ?, updated_at = ?, completed_at = ? where job_id = ?",
+                phase.name(), lastId, now, phase == Phase.DONE ? now : null, jobId);
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private boolean pause() {
+        if (this.pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(this.pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            // 종료 중이면 남은 작업은 재시작 후 checkpoint부터 이어서 처리
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ktb.community.metrics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+
+// DataSource를 datasource-proxy로 감싸서 실행되는 모든 SQL을 리스너로 받을 수 있게 함
+// HikariCP 메트릭은 unwrap으로 원래 HikariDataSource를 찾으므로 그대로 수집됨
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new QueryStatsListener())
+                    .build();
+        }
+        return bean;
+    }
+}
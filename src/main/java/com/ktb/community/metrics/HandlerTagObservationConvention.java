@@ -0,0 +1,15 @@
+package com.ktb.community.metrics;
+
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+// http.server.requests에 어떤 컨트롤러 메서드가 처리했는지 handler 태그(PostController#getPosts 형태)를 추가
+public class HandlerTagObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context)
+                .and("handler", RequestMetricsFilter.handlerName(context.getCarrier()));
+    }
+}
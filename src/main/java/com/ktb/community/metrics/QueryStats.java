@@ -0,0 +1,91 @@
+package com.ktb.community.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// 요청 하나에서 실행된 SQL 수와 DB 시간을 모으는 요청 단위 컨텍스트
+// RequestMetricsFilter가 요청 시작 시 만들고, datasource-proxy 리스너가 SQL이 실행될 때마다 기록
+public final class QueryStats {
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long dbTimeNanos;
+    private long statementStartNanos;
+    // SQL 모양별 실행 횟수, 샘플링되지 않은 요청이면 null
+    private final Map<String, Integer> shapes;
+
+    private QueryStats(boolean trackShapes) {
+        this.shapes = trackShapes ? new LinkedHashMap<>() : null;
+    }
+
+    public static QueryStats start(boolean trackShapes) {
+        QueryStats stats = new QueryStats(trackShapes);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    // 요청 밖(스케줄러 등)에서 실행된 SQL이면 null
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    // 테스트에서 서비스 메서드 하나가 실행한 SQL만 따로 집계할 때 사용, 바깥 컨텍스트는 그대로 복구
+    public static <T> Measured<T> measure(Supplier<T> action) {
+        QueryStats previous = CURRENT.get();
+        QueryStats stats = start(true);
+        try {
+            T result = action.get();
+            return new Measured<>(result, stats);
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public record Measured<T>(T result, QueryStats stats) {
+    }
+
+    void beginStatement() {
+        this.statementStartNanos = System.nanoTime();
+    }
+
+    void recordStatement(String sql) {
+        this.statements++;
+        if (this.statementStartNanos != 0L) {
+            this.dbTimeNanos += System.nanoTime() - this.statementStartNanos;
+            this.statementStartNanos = 0L;
+        }
+        if (this.shapes != null && sql != null) {
+            this.shapes.merge(SqlShape.of(sql), 1, Integer::sum);
+        }
+    }
+
+    public int getStatements() {
+        return this.statements;
+    }
+
+    public long getDbTimeNanos() {
+        return this.dbTimeNanos;
+    }
+
+    // threshold번 넘게 반복된 SQL 모양 (N+1 의심), 샘플링되지 않은 요청이면 빈 Map
+    public Map<String, Integer> repeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        if (this.shapes != null) {
+            this.shapes.forEach((shape, count) -> {
+                if (count > threshold) {
+                    repeated.put(shape, count);
+                }
+            });
+        }
+        return repeated;
+    }
+}
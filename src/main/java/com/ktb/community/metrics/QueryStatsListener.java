@@ -0,0 +1,30 @@
+package com.ktb.community.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+// JDBC statement가 실행될 때마다 현재 요청의 QueryStats에 기록
+// JPA, JdbcTemplate 모두 같은 DataSource를 거치므로 경로와 상관없이 집계됨
+public class QueryStatsListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.beginStatement();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            // 배치는 DB 왕복 한 번이므로 1로 계산하고, 모양은 첫 SQL 기준으로 집계
+            String sql = queryInfoList.isEmpty() ? null : queryInfoList.getFirst().getQuery();
+            stats.recordStatement(sql);
+        }
+    }
+}
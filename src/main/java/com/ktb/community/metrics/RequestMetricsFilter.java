@@ -0,0 +1,105 @@
+package com.ktb.community.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+// Spring Security 필터보다 먼저 실행되어 인증 과정의 SQL까지 함께 집계
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    // 요청 하나에서 실행된 SQL 수와 DB 시간을 컨트롤러 메서드별 분포로 기록
+    // 샘플링된 요청은 같은 모양의 SQL이 여러 번 반복되면(N+1 의심) 경고 로그를 남김
+
+    private final MeterRegistry meterRegistry;
+    private final int repeatThreshold;
+    private final double shapeSampleRate;
+    private final boolean debugHeaders;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry,
+                                @Value("${diagnostics.sql-profiler.repeat-threshold}") int repeatThreshold,
+                                @Value("${diagnostics.sql-profiler.shape-sample-rate}") double shapeSampleRate,
+                                @Value("${diagnostics.sql-profiler.debug-headers}") boolean debugHeaders) {
+        this.meterRegistry = meterRegistry;
+        this.repeatThreshold = repeatThreshold;
+        this.shapeSampleRate = shapeSampleRate;
+        this.debugHeaders = debugHeaders;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        boolean trackShapes = this.shapeSampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < this.shapeSampleRate;
+        QueryStats stats = QueryStats.start(trackShapes);
+        // 디버그 헤더는 응답이 커밋되기 전에 넣어야 하므로 본문을 잠시 버퍼링
+        ContentCachingResponseWrapper wrapper = this.debugHeaders ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            filterChain.doFilter(request, wrapper != null ? wrapper : response);
+        } finally {
+            QueryStats.clear();
+            String handler = handlerName(request);
+            record(request, handler, stats);
+            warnRepeatedShapes(request, handler, stats);
+            if (wrapper != null) {
+                wrapper.setHeader("X-Query-Count", String.valueOf(stats.getStatements()));
+                wrapper.setHeader("X-DB-Time", String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.getDbTimeNanos())));
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, String handler, QueryStats stats) {
+        DistributionSummary.builder("http.server.requests.db.statements")
+                .description("요청 하나에서 실행된 SQL 수")
+                .tag("handler", handler)
+                .tag("method", request.getMethod())
+                .publishPercentileHistogram()
+                .register(this.meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("http.server.requests.db.time")
+                .description("요청 하나에서 SQL 실행에 쓴 시간의 합")
+                .tag("handler", handler)
+                .tag("method", request.getMethod())
+                .publishPercentileHistogram()
+                .register(this.meterRegistry)
+                .record(stats.getDbTimeNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void warnRepeatedShapes(HttpServletRequest request, String handler, QueryStats stats) {
+        Map<String, Integer> repeated = stats.repeatedShapes(this.repeatThreshold);
+        if (repeated.isEmpty()) {
+            return;
+        }
+        this.meterRegistry.counter("http.server.requests.db.repeated", "handler", handler).increment();
+        repeated.forEach((shape, count) ->
+                log.warn("Possible N+1 in {} {} ({}): {} executions of [{}]",
+                        request.getMethod(), request.getRequestURI(), handler, count, shape));
+    }
+
+    // 요청을 처리한 컨트롤러 메서드 이름, 매칭되지 않은 요청(404, 정적 리소스 등)은 none
+    public static String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+        }
+        return "none";
+    }
+}
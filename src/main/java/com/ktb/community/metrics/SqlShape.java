@@ -0,0 +1,26 @@
+package com.ktb.community.metrics;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// 파라미터 값만 다른 SQL을 같은 모양으로 묶기 위한 정규화
+// 주석 제거, 리터럴은 ?로 치환, IN 목록은 (?) 하나로, 공백은 한 칸으로 합침
+public final class SqlShape {
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlShape() {
+    }
+
+    public static String of(String sql) {
+        String shape = COMMENT.matcher(sql).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ");
+        return shape.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,39 @@
+package com.ktb.community.pagination;
+
+import com.ktb.community.exception.custom.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// 목록의 실제 정렬 키인 (created_at, id)를 담는 cursor
+// 클라이언트에는 base64url 문자열로만 노출해서 형식이 바뀌어도 API는 그대로 유지
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = this.createdAt + SEPARATOR + this.id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // null이나 빈 문자열이면 첫 페이지를 의미하므로 null 반환
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            LocalDateTime createdAt = LocalDateTime.parse(raw.substring(0, separator));
+            Long id = Long.parseLong(raw.substring(separator + 1));
+            return new KeysetCursor(createdAt, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // NumberFormatException도 IllegalArgumentException에 포함
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ktb.community.pagination;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+// size + 1개를 조회한 결과를 잘라서 다음 페이지 여부와 다음 cursor를 계산
+public record KeysetPage<T>(List<T> items, String nextCursor, boolean hasNext) {
+
+    public static <T> KeysetPage<T> of(List<T> rows, int size,
+                                       Function<T, LocalDateTime> createdAt, Function<T, Long> id) {
+        boolean hasNext = rows.size() > size;
+        List<T> items = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (!items.isEmpty()) {
+            T last = items.getLast();
+            nextCursor = new KeysetCursor(createdAt.apply(last), id.apply(last)).encode();
+        }
+        return new KeysetPage<>(items, nextCursor, hasNext);
+    }
+}
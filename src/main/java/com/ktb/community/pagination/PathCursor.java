@@ -0,0 +1,33 @@
+package com.ktb.community.pagination;
+
+import com.ktb.community.exception.custom.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+// 답글 목록의 정렬 키인 path를 담는 cursor, path는 답글마다 유일하므로 이것만으로 위치가 정해짐
+public record PathCursor(String path) {
+    private static final Pattern PATH = Pattern.compile("[0-9a-z]+(/[0-9a-z]+)*");
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(this.path.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // null이나 빈 문자열이면 첫 페이지를 의미하므로 null 반환
+    public static PathCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String path = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // like 조건에 그대로 들어가므로 path 형식이 아니면 거부
+            if (!PATH.matcher(path).matches()) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return new PathCursor(path);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+}
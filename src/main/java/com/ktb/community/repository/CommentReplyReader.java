@@ -0,0 +1,51 @@
+package com.ktb.community.repository;
+
+import com.ktb.community.repository.projection.ReplyView;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Repository
+public class CommentReplyReader {
+    // 댓글 목록 한 페이지에 대해 최상위 댓글마다 앞쪽 답글 N개를 한 번의 쿼리로 조회
+    // 스레드마다 limit을 걸어야 해서 JPQL 대신 window function(row_number)을 쓰는 native SQL로 조회 (MySQL 8 / H2 모두 지원)
+
+    private static final String SELECT_PREVIEW = """
+            select comment_id, root_id, parent_id, depth, path, content, created_at, user_id from (
+                select c.comment_id, c.root_id, c.parent_id, c.depth, c.path, c.content, c.created_at, c.user_id,
+                       row_number() over (partition by c.root_id order by c.path) as rn
+                from comment c
+                where c.root_id in (%s) and c.deleted_at is null
+            ) t
+            where t.rn <= ?
+            order by t.root_id, t.path
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CommentReplyReader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // 스레드별로 path 순서(트리를 깊이 우선으로 훑은 순서)의 앞쪽 limit개
+    public List<ReplyView> findFirstReplies(List<Long> rootIds, int limit) {
+        if (rootIds.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>(rootIds);
+        args.add(limit);
+        String sql = SELECT_PREVIEW.formatted(String.join(", ", Collections.nCopies(rootIds.size(), "?")));
+        return this.jdbcTemplate.query(sql, (rs, rowNum) -> new ReplyView(
+                rs.getLong("comment_id"),
+                rs.getLong("root_id"),
+                rs.getLong("parent_id"),
+                rs.getInt("depth"),
+                rs.getString("path"),
+                rs.getString("content"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                rs.getLong("user_id")), args.toArray());
+    }
+}
@@ -3,22 +3,55 @@ package com.ktb.community.repository;
 import com.ktb.community.entity.Comment;
 import com.ktb.community.entity.Post;
 import com.ktb.community.entity.User;
+import com.ktb.community.repository.projection.CommentView;
+import com.ktb.community.repository.projection.ReplyView;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    @Query("select c from Comment c join fetch c.user where c.post.id = :postId and c.deletedAt is null order by c.id desc")
-    List<Comment> findByPostIdAndDeletedAtIsNullOrderByCreatedAtDesc(@Param("postId") Long postId, Pageable pageable);
+    // 목록에 필요한 컬럼만 작성자 id와 함께 조회 (c.user.id는 FK 컬럼이므로 user join 없음)
+    String COMMENT_VIEW_SELECT = "select new com.ktb.community.repository.projection.CommentView(" +
+            "c.id, c.content, c.createdAt, c.user.id, c.replyCount) from Comment c ";
 
-    @Query("select c from Comment c join fetch c.user where c.post.id = :postId and c.id < :cursor and c.deletedAt is null order by c.id desc ")
-    List<Comment> findByPostIdAndIdLessThanAndDeletedAtIsNullOrderByCreatedAtDesc(
-            @Param("postId") Long postId, @Param("cursor") Long cursor, Pageable pageable);
+    String REPLY_VIEW_SELECT = "select new com.ktb.community.repository.projection.ReplyView(" +
+            "c.id, c.rootId, c.parent.id, c.depth, c.path, c.content, c.createdAt, c.user.id) from Comment c ";
+
+    // 최상위 댓글만, (post_id, depth, deleted_at, created_at, comment_id) 인덱스를 그대로 따라가도록 정렬 키 전체로 정렬
+    @Query(COMMENT_VIEW_SELECT + "where c.post.id = :postId and c.depth = 0 and c.deletedAt is null order by c.createdAt desc, c.id desc")
+    List<CommentView> findByPostIdAndDeletedAtIsNullOrderByCreatedAtDescIdDesc(@Param("postId") Long postId, Pageable pageable);
+
+    // (created_at, id) < (:createdAt, :id) 를 인덱스 range scan이 가능한 형태로 풀어 쓴 조건
+    @Query(COMMENT_VIEW_SELECT + "where c.post.id = :postId and c.depth = 0 and c.deletedAt is null " +
+            "and (c.createdAt < :createdAt or (c.createdAt = :createdAt and c.id < :id)) " +
+            "order by c.createdAt desc, c.id desc")
+    List<CommentView> findPageBeforeByPostIdAndDeletedAtIsNull(@Param("postId") Long postId,
+                                                               @Param("createdAt") LocalDateTime createdAt,
+                                                               @Param("id") Long id, Pageable pageable);
+
+    // 한 스레드에서 path 접두사가 prefix인 답글을 트리 순서로, after 다음부터 조회
+    // 최상위 댓글의 스레드 전체를 볼 때는 prefix가 빈 문자열
+    @Query(REPLY_VIEW_SELECT + "where c.rootId = :rootId and c.deletedAt is null " +
+            "and c.path like concat(:prefix, '%') and c.path > :after order by c.path")
+    List<ReplyView> findRepliesAfter(@Param("rootId") Long rootId, @Param("prefix") String prefix,
+                                     @Param("after") String after, Pageable pageable);
+
+    // 삭제되는 댓글 아래의 답글을 함께 삭제, 최상위 댓글이면 prefix가 빈 문자열
+    @Modifying
+    @Query("update Comment c set c.deletedAt = :deletedAt " +
+            "where c.rootId = :rootId and c.deletedAt is null and c.path like concat(:prefix, '%')")
+    int softDeleteReplies(@Param("rootId") Long rootId, @Param("prefix") String prefix, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query("update Comment c set c.replyCount = c.replyCount + :delta where c.id = :rootId")
+    int addReplyCount(@Param("rootId") Long rootId, @Param("delta") int delta);
 
     List<Comment> findByPostId(Long postId);
 
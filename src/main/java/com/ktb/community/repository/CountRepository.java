@@ -2,7 +2,11 @@ package com.ktb.community.repository;
 
 import com.ktb.community.entity.Count;
 import com.ktb.community.entity.Post;
+import com.ktb.community.repository.projection.PostCountView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.parameters.P;
 import org.springframework.stereotype.Repository;
 
@@ -14,4 +18,19 @@ public interface CountRepository extends JpaRepository<Count, Long> {
     Optional<Count> findByPostId(Long postId);
 
     List<Count> findByPostIn(List<Post> postList);
+
+    // 좋아요 수는 count.like_count에 아직 rollup 되지 않은 slot 값을 더해서 계산
+    @Query("select new com.ktb.community.repository.projection.PostCountView(c.id, " +
+            "c.likeCount + coalesce((select sum(s.likeCount) from LikeCountShard s where s.id.postId = c.id), 0L), " +
+            "c.viewCount, c.commentCount) from Count c where c.id = :postId")
+    Optional<PostCountView> findCountViewByPostId(@Param("postId") Long postId);
+
+    @Query("select new com.ktb.community.repository.projection.PostCountView(c.id, " +
+            "c.likeCount + coalesce((select sum(s.likeCount) from LikeCountShard s where s.id.postId = c.id), 0L), " +
+            "c.viewCount, c.commentCount) from Count c where c.id in :postIds")
+    List<PostCountView> findCountViewsByPostIdIn(@Param("postIds") List<Long> postIds);
+
+    @Modifying
+    @Query("update Count c set c.likeCount = c.likeCount + :delta where c.id = :postId")
+    int addLikeCount(@Param("postId") Long postId, @Param("delta") long delta);
 }
@@ -0,0 +1,30 @@
+package com.ktb.community.repository;
+
+import com.ktb.community.entity.LikeCountShard;
+import com.ktb.community.entity.LikeCountShardPK;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LikeCountShardRepository extends JpaRepository<LikeCountShard, LikeCountShardPK> {
+    // slot 행이 없으면 만들고, 있으면 읽지 않고 DB에서 바로 증감
+    @Modifying
+    @Query(value = "insert into like_count_shard (post_id, slot, like_count) values (:postId, :slot, :delta) " +
+            "on duplicate key update like_count = like_count + :delta", nativeQuery = true)
+    int addDelta(@Param("postId") Long postId, @Param("slot") int slot, @Param("delta") long delta);
+
+    // 시작할 때 한 번만 사용
+    @Query("select distinct s.id.postId from LikeCountShard s where s.likeCount <> 0")
+    List<Long> findPostIdsToRollup();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from LikeCountShard s where s.id.postId = :postId and s.likeCount <> 0 order by s.id.slot")
+    List<LikeCountShard> findForRollup(@Param("postId") Long postId);
+}
@@ -0,0 +1,95 @@
+package com.ktb.community.repository;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class PostBatchWriter {
+    // 게시글 작성 시 post, image, count 행을 테이블마다 JDBC 배치 한 번으로 저장
+    // IDENTITY 전략에서는 Hibernate가 INSERT를 배치로 묶지 못해 이미지 수만큼 왕복이 생기므로 JdbcTemplate으로 직접 저장
+    // MySQL에서는 rewriteBatchedStatements=true 설정으로 배치가 multi-row INSERT 한 번으로 바뀜
+    // 호출하는 쪽의 트랜잭션 안에서 실행되어야 함
+
+    public record NewPost(Long userId, String title, String content, List<String> images) {
+    }
+
+    private static final String INSERT_POST = "insert into post (user_id, title, content, created_at, updated_at) values (?, ?, ?, ?, ?)";
+    private static final String INSERT_IMAGE = "insert into image (post_id, display_order, url, created_at) values (?, ?, ?, ?)";
+    private static final String INSERT_COUNT = "insert into count (post_id, like_count, view_count, comment_count) values (?, 0, 0, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // 저장된 게시글 id를 입력 순서대로 반환
+    public List<Long> insertAll(List<NewPost> posts) {
+        if (posts.isEmpty()) {
+            return List.of();
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> postIds = insertPosts(posts, now);
+        insertImages(posts, postIds, now);
+        this.jdbcTemplate.batchUpdate(INSERT_COUNT, postIds, postIds.size(), (ps, postId) -> ps.setLong(1, postId));
+        return postIds;
+    }
+
+    private List<Long> insertPosts(List<NewPost> posts, Timestamp now) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        this.jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_POST, new String[]{"post_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        NewPost post = posts.get(i);
+                        ps.setLong(1, post.userId());
+                        ps.setString(2, post.title());
+                        ps.setString(3, post.content());
+                        ps.setTimestamp(4, now);
+                        ps.setTimestamp(5, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return posts.size();
+                    }
+                }, keyHolder);
+
+        List<Long> postIds = new ArrayList<>(posts.size());
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            // 드라이버마다 키 이름이 다르므로(GENERATED_KEY, POST_ID 등) 첫 번째 값을 사용
+            postIds.add(((Number) keys.values().iterator().next()).longValue());
+        }
+        if (postIds.size() != posts.size()) {
+            throw new IllegalStateException("Expected " + posts.size() + " generated post ids but got " + postIds.size());
+        }
+        return postIds;
+    }
+
+    private void insertImages(List<NewPost> posts, List<Long> postIds, Timestamp now) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < posts.size(); i++) {
+            List<String> images = posts.get(i).images();
+            if (images == null) {
+                continue;
+            }
+            for (int order = 0; order < images.size(); order++) {
+                rows.add(new Object[]{postIds.get(i), order, images.get(order), now});
+            }
+        }
+        if (!rows.isEmpty()) {
+            this.jdbcTemplate.batchUpdate(INSERT_IMAGE, rows);
+        }
+    }
+}
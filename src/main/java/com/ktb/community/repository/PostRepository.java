@@ -2,18 +2,40 @@ package com.ktb.community.repository;
 
 import com.ktb.community.entity.Post;
 import com.ktb.community.entity.User;
+import com.ktb.community.repository.projection.PostSummaryView;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
     // deletedAt이 null인 게시글만 조회 (삭제되지 않은 게시글)
-    List<Post> findByDeletedAtIsNullOrderByCreatedAtDesc(Pageable pageable);
+    // 목록에 필요한 컬럼만 작성자 id, 카운터와 함께 한 번의 쿼리로 조회 (p.user.id는 FK 컬럼이므로 user join 없음)
+    String POST_SUMMARY_SELECT = "select new com.ktb.community.repository.projection.PostSummaryView(" +
+            "p.id, p.title, p.content, p.user.id, p.createdAt, " +
+            "coalesce(c.likeCount, 0L) + coalesce((select sum(s.likeCount) from LikeCountShard s where s.id.postId = p.id), 0L), " +
+            "coalesce(c.viewCount, 0L), coalesce(c.commentCount, 0L)) " +
+            "from Post p left join Count c on c.id = p.id ";
 
-    List<Post> findByIdLessThanAndDeletedAtIsNullOrderByCreatedAtDesc(Long cursor, Pageable pageable);
+    // (deleted_at, created_at, post_id) 인덱스를 그대로 따라가도록 정렬 키 전체로 정렬
+    @Query(POST_SUMMARY_SELECT + "where p.deletedAt is null order by p.createdAt desc, p.id desc")
+    List<PostSummaryView> findByDeletedAtIsNullOrderByCreatedAtDescIdDesc(Pageable pageable);
+
+    // (created_at, id) < (:createdAt, :id) 를 인덱스 range scan이 가능한 형태로 풀어 쓴 조건
+    @Query(POST_SUMMARY_SELECT + "where p.deletedAt is null " +
+            "and (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id)) " +
+            "order by p.createdAt desc, p.id desc")
+    List<PostSummaryView> findPageBeforeAndDeletedAtIsNull(@Param("createdAt") LocalDateTime createdAt,
+                                                          @Param("id") Long id, Pageable pageable);
+
+    // 검색 결과 한 페이지의 게시글을 id로 한 번에 조회 (정렬은 호출하는 쪽에서 검색 점수 순으로)
+    @Query(POST_SUMMARY_SELECT + "where p.id in :ids and p.deletedAt is null")
+    List<PostSummaryView> findSummariesByIdIn(@Param("ids") List<Long> ids);
 
     List<Post> findAllByUser(User user);
 
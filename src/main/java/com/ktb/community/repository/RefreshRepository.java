@@ -3,6 +3,8 @@ package com.ktb.community.repository;
 import com.ktb.community.entity.Refresh;
 import com.ktb.community.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.sql.Ref;
 import java.util.List;
@@ -13,6 +15,10 @@ public interface RefreshRepository extends JpaRepository<Refresh, Long> {
 
     Optional<Refresh> findByRefreshToken(String refreshToken);
 
+    // 재발급 시 access token에 필요한 유저 정보까지 한 번의 쿼리로 조회
+    @Query("select r from Refresh r join fetch r.user where r.refreshToken = :refreshToken")
+    Optional<Refresh> findWithUserByRefreshToken(@Param("refreshToken") String refreshToken);
+
     void deleteByRefreshToken(String token);
 
     void deleteAllByUserId(Long userId);
@@ -0,0 +1,15 @@
+package com.ktb.community.repository;
+
+import com.ktb.community.entity.UserDeletionJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserDeletionJobRepository extends JpaRepository<UserDeletionJob, Long> {
+    Optional<UserDeletionJob> findByUserId(Long userId);
+
+    List<UserDeletionJob> findByCompletedAtIsNullOrderByIdAsc();
+}
@@ -1,9 +1,14 @@
 package com.ktb.community.repository;
 
 import com.ktb.community.entity.User;
+import com.ktb.community.repository.projection.AuthorView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,4 +20,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByNicknameAndIdNot(String nickname, Long id);
 
     Optional<User> findByEmail(String email);
+
+    // 작성자 캐시에 없는 유저들을 IN 쿼리 한 번으로 조회, 탈퇴한 유저는 제외
+    @Query("select new com.ktb.community.repository.projection.AuthorView(u.id, u.nickname, u.profileImage) from User u " +
+            "where u.id in :ids and u.deletedAt is null")
+    List<AuthorView> findAuthorsByIdIn(@Param("ids") Collection<Long> ids);
 }
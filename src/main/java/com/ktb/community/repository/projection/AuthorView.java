@@ -0,0 +1,5 @@
+package com.ktb.community.repository.projection;
+
+// 목록/상세에 표시할 작성자 정보만 조회하기 위한 프로젝션
+public record AuthorView(Long id, String nickname, String profileImage) {
+}
@@ -0,0 +1,8 @@
+package com.ktb.community.repository.projection;
+
+import java.time.LocalDateTime;
+
+// 댓글 목록에 필요한 컬럼만 조회하기 위한 프로젝션 (엔티티를 영속성 컨텍스트에 올리지 않음)
+// 작성자 닉네임은 user를 join하지 않고 AuthorCache에서 채움
+public record CommentView(Long id, String content, LocalDateTime createdAt, Long authorId, int replyCount) {
+}
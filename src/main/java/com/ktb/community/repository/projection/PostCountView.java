@@ -0,0 +1,5 @@
+package com.ktb.community.repository.projection;
+
+// Count 엔티티 전체(연관 Post 포함)를 읽지 않고 카운터 값만 조회하기 위한 프로젝션
+public record PostCountView(Long postId, Long likeCount, Long viewCount, Long commentCount) {
+}
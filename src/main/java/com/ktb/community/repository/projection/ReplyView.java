@@ -0,0 +1,8 @@
+package com.ktb.community.repository.projection;
+
+import java.time.LocalDateTime;
+
+// 답글 목록에 필요한 컬럼만 조회하기 위한 프로젝션, path는 다음 페이지 cursor로 사용
+public record ReplyView(Long id, Long rootId, Long parentId, int depth, String path,
+                        String content, LocalDateTime createdAt, Long authorId) {
+}
@@ -0,0 +1,333 @@
+package com.ktb.community.search;
+
+import com.ktb.community.util.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+public class PostSearchIndex {
+    // 게시글 제목/내용의 토큰 → 게시글 목록(posting list)을 메모리에 보관하는 역색인
+    // 검색은 DB를 거치지 않고 posting list 교집합으로 후보를 찾아 점수순으로 정렬
+    // 서버 시작 시 post 테이블을 id 순서로 chunk 단위로 읽어 만들고, 이후 작성/수정/삭제는 커밋 이후 반영
+    // 색인을 만드는 동안 커밋된 변경은 모아 두었다가 색인이 끝난 뒤 순서대로 반영해서, 먼저 읽힌 이전 내용이 변경을 덮어쓰지 않도록 함
+
+    // 제목에 나온 토큰은 내용보다 가중치를 높게
+    private static final int TITLE_WEIGHT = 3;
+    private static final int MAX_WEIGHT = 1 << 16;
+    private static final double SATURATION = 1.2;
+
+    public record Hit(long postId, double score) {
+    }
+
+    public record SearchResult(List<Hit> hits, SearchCursor nextCursor, boolean hasNext) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Executor executor;
+    private final int buildChunkSize;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 내용을 모른 채 삭제된 게시글 (회원 탈퇴 등), posting list에서는 빼지 않고 검색 결과에서만 제외
+    private final Set<Long> removed = ConcurrentHashMap.newKeySet();
+    // posting list에 들어 있는 게시글 id (게시글 100만 개 기준 약 125KB), 같은 게시글을 두 번 색인해도 문서 수가 한 번만 늘도록 함
+    // write lock을 잡은 상태에서만 접근
+    private final BitSet indexedIds = new BitSet();
+    private final AtomicLong documents = new AtomicLong();
+    // 색인을 만드는 중이면 그동안 커밋된 변경, 아니면 null (write lock을 잡은 상태에서만 접근)
+    private List<Runnable> deferredEdits;
+    private volatile boolean ready;
+
+    private final Timer queryTimer;
+
+    public PostSearchIndex(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                           @Qualifier("applicationTaskExecutor") Executor executor,
+                           @Value("${post.search.build-chunk-size}") int buildChunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.executor = executor;
+        this.buildChunkSize = buildChunkSize;
+
+        this.queryTimer = Timer.builder("post.search.query").register(meterRegistry);
+        Gauge.builder("post.search.documents", this.documents, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("post.search.terms", this, PostSearchIndex::terms).register(meterRegistry);
+        Gauge.builder("post.search.bytes", this, PostSearchIndex::bytes).register(meterRegistry);
+    }
+
+    // 시작을 막지 않도록 백그라운드에서 색인, 색인 중에는 일부 게시글만 검색될 수 있음
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        this.executor.execute(this::build);
+    }
+
+    public void build() {
+        this.lock.writeLock().lock();
+        try {
+            // 이미 다른 스레드가 색인 중이면 건너뜀
+            if (this.deferredEdits != null) {
+                return;
+            }
+            this.deferredEdits = new ArrayList<>();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        long start = System.nanoTime();
+        long lastId = 0L;
+        long indexed = 0L;
+        boolean completed = false;
+        try {
+            while (true) {
+                List<Object[]> rows = this.jdbcTemplate.query(
+                        "select post_id, title, content from post where deleted_at is null and post_id > ? order by post_id limit ?",
+                        (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3)},
+                        lastId, this.buildChunkSize);
+                for (Object[] row : rows) {
+                    index((Long) row[0], (String) row[1], (String) row[2]);
+                }
+                indexed += rows.size();
+                if (rows.size() < this.buildChunkSize) {
+                    break;
+                }
+                lastId = (Long) rows.getLast()[0];
+            }
+            completed = true;
+            log.info("Indexed {} posts for search in {} ms", indexed, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Failed to build the post search index after {} posts: {}", indexed, e.getMessage());
+        } finally {
+            // 색인에 실패해도 모아 둔 변경은 반영하고, 이후 변경은 바로 반영
+            this.lock.writeLock().lock();
+            try {
+                List<Runnable> edits = this.deferredEdits;
+                this.deferredEdits = null;
+                edits.forEach(Runnable::run);
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+        }
+        this.ready = completed;
+    }
+
+    public boolean isReady() {
+        return this.ready;
+    }
+
+    public void indexAfterCommit(Long postId, String title, String content) {
+        AfterCommit.run(() -> applyEdit(() -> index(postId, title, content)));
+    }
+
+    // 수정 전 내용의 토큰을 빼고 새 내용의 토큰을 넣음
+    public void updateAfterCommit(Long postId, String oldTitle, String oldContent, String newTitle, String newContent) {
+        AfterCommit.run(() -> applyEdit(() -> {
+            unindex(postId, oldTitle, oldContent);
+            index(postId, newTitle, newContent);
+        }));
+    }
+
+    public void removeAfterCommit(Long postId, String title, String content) {
+        AfterCommit.run(() -> applyEdit(() -> unindex(postId, title, content)));
+    }
+
+    // 삭제된 내용을 알 수 없을 때 사용, 다음 재시작 시 색인을 다시 만들면서 정리됨
+    public void markRemovedAfterCommit(Long postId) {
+        AfterCommit.run(() -> applyEdit(() -> {
+            if (this.indexedIds.get(toIndex(postId)) && this.removed.add(postId)) {
+                this.documents.decrementAndGet();
+            }
+        }));
+    }
+
+    // 색인을 만드는 중이면 끝난 뒤에 반영하도록 모아 두고, 아니면 바로 반영
+    private void applyEdit(Runnable edit) {
+        this.lock.writeLock().lock();
+        try {
+            if (this.deferredEdits != null) {
+                this.deferredEdits.add(edit);
+            } else {
+                edit.run();
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    void index(Long postId, String title, String content) {
+        Map<String, Integer> weights = weigh(title, content);
+        this.lock.writeLock().lock();
+        try {
+            weights.forEach((term, weight) -> this.postings.computeIfAbsent(term, key -> new PostingList()).add(postId, weight));
+            int id = toIndex(postId);
+            boolean wasIndexed = this.indexedIds.get(id);
+            boolean wasHidden = this.removed.remove(postId);
+            this.indexedIds.set(id);
+            // 처음 색인되었거나, 숨겨져 있던 게시글이 다시 색인될 때만 문서 수 증가
+            if (!wasIndexed || wasHidden) {
+                this.documents.incrementAndGet();
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    // write lock을 잡은 상태에서 호출
+    private void unindex(Long postId, String title, String content) {
+        for (String term : weigh(title, content).keySet()) {
+            PostingList list = this.postings.get(term);
+            if (list != null) {
+                list.remove(postId);
+                if (list.isEmpty()) {
+                    this.postings.remove(term);
+                }
+            }
+        }
+        int id = toIndex(postId);
+        if (this.indexedIds.get(id)) {
+            this.indexedIds.clear(id);
+            // 숨겨져 있던 게시글은 이미 문서 수에서 빠져 있음
+            if (!this.removed.remove(postId)) {
+                this.documents.decrementAndGet();
+            }
+        }
+    }
+
+    private static int toIndex(Long postId) {
+        return Math.toIntExact(postId);
+    }
+
+    private static Map<String, Integer> weigh(String title, String content) {
+        Map<String, Integer> weights = new HashMap<>();
+        SearchTokenizer.termFrequencies(title).forEach((term, tf) -> weights.merge(term, tf * TITLE_WEIGHT, Integer::sum));
+        SearchTokenizer.termFrequencies(content).forEach((term, tf) -> weights.merge(term, tf, Integer::sum));
+        weights.replaceAll((term, weight) -> Math.min(weight, MAX_WEIGHT));
+        return weights;
+    }
+
+    // 모든 검색어 토큰을 포함하는 게시글을 점수 내림차순, 같은 점수면 최신 게시글 순으로 반환
+    public SearchResult search(String query, SearchCursor cursor, int size) {
+        return this.queryTimer.record(() -> doSearch(query, cursor, size));
+    }
+
+    private SearchResult doSearch(String query, SearchCursor cursor, int size) {
+        Set<String> terms = SearchTokenizer.queryTerms(query);
+        if (terms.isEmpty()) {
+            return new SearchResult(List.of(), null, false);
+        }
+
+        // 필요한 size + 1개만 남기는 min-heap으로 상위 결과 선택
+        Comparator<Hit> order = Comparator.comparingDouble(Hit::score).thenComparingLong(Hit::postId);
+        PriorityQueue<Hit> top = new PriorityQueue<>(size + 1, order);
+        this.lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                PostingList list = this.postings.get(term);
+                if (list == null) {
+                    return new SearchResult(List.of(), null, false);
+                }
+                lists.add(list);
+            }
+            // 가장 짧은 목록이 후보를 이끌고, 나머지 목록은 skip pointer로 후보 위치까지 건너뜀
+            lists.sort(Comparator.comparingInt(PostingList::size));
+            double totalDocuments = Math.max(1L, this.documents.get());
+            PostingList.Cursor[] cursors = new PostingList.Cursor[lists.size()];
+            double[] idfs = new double[lists.size()];
+            for (int l = 0; l < lists.size(); l++) {
+                cursors[l] = lists.get(l).cursor();
+                idfs[l] = idf(totalDocuments, lists.get(l).size());
+            }
+
+            long target = 0L;
+            candidates:
+            while (cursors[0].advance(target)) {
+                long postId = cursors[0].postId();
+                double score = termScore(idfs[0], cursors[0].weight());
+                for (int l = 1; l < cursors.length; l++) {
+                    if (!cursors[l].advance(postId)) {
+                        break candidates;
+                    }
+                    if (cursors[l].postId() != postId) {
+                        // 다른 목록에 없는 게시글이면 그 목록의 다음 게시글까지 한 번에 건너뜀
+                        target = cursors[l].postId();
+                        continue candidates;
+                    }
+                    score += termScore(idfs[l], cursors[l].weight());
+                }
+                target = postId + 1;
+
+                if (this.removed.contains(postId) || (cursor != null && !cursor.precedes(score, postId))) {
+                    continue;
+                }
+                Hit hit = new Hit(postId, score);
+                if (top.size() <= size) {
+                    top.add(hit);
+                } else if (order.compare(hit, top.peek()) > 0) {
+                    top.poll();
+                    top.add(hit);
+                }
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+
+        Hit[] sorted = top.toArray(new Hit[0]);
+        Arrays.sort(sorted, order.reversed());
+        boolean hasNext = sorted.length > size;
+        List<Hit> hits = List.of(sorted).subList(0, Math.min(size, sorted.length));
+        SearchCursor nextCursor = hasNext ? new SearchCursor(hits.getLast().score(), hits.getLast().postId()) : null;
+        return new SearchResult(hits, nextCursor, hasNext);
+    }
+
+    private static double idf(double totalDocuments, int documentFrequency) {
+        return Math.log(1.0 + totalDocuments / documentFrequency);
+    }
+
+    // 같은 토큰이 여러 번 나와도 점수가 끝없이 커지지 않도록 포화
+    private static double termScore(double idf, int weight) {
+        return idf * weight / (weight + SATURATION);
+    }
+
+    private double terms() {
+        this.lock.readLock().lock();
+        try {
+            return this.postings.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private double bytes() {
+        this.lock.readLock().lock();
+        try {
+            long total = 0L;
+            for (PostingList list : this.postings.values()) {
+                total += list.bytes();
+            }
+            return total;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+}
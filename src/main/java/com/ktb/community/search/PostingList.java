@@ -0,0 +1,274 @@
+package com.ktb.community.search;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+// 한 토큰이 등장한 게시글 목록 (postId 오름차순)
+// (이전 postId와의 차이, 가중치)를 varint로 이어 붙여 저장해서 게시글당 보통 2~3바이트만 사용
+// 새 게시글은 id가 가장 크므로 끝에 붙이기만 하고, 수정/삭제처럼 중간이 바뀌는 변경은 overlay에 모아 두었다가 한 번에 다시 인코딩
+// 검색은 배열로 풀지 않고 Cursor로 바이트 배열을 그대로 따라가며, SKIP_INTERVAL개마다 둔 skip pointer로 건너뜀
+// 동기화는 PostSearchIndex의 lock에 맡김
+final class PostingList {
+    // skip pointer 하나(12바이트)가 가리키는 게시글 수
+    static final int SKIP_INTERVAL = 64;
+    // overlay에서 삭제된 게시글을 나타내는 가중치 (가중치는 항상 1 이상)
+    private static final int TOMBSTONE = 0;
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int count;
+    private long lastPostId;
+
+    // SKIP_INTERVAL번째 게시글마다 그 게시글의 postId와 data에서의 시작 위치
+    private long[] skipPostIds = new long[0];
+    private int[] skipOffsets = new int[0];
+    private int skipCount;
+
+    // 인코딩된 목록 중간에 대한 변경 (postId → 새 가중치 또는 TOMBSTONE), 인코딩된 목록보다 우선
+    private final TreeMap<Long, Integer> overlay = new TreeMap<>();
+    // overlay까지 반영한 게시글 수
+    private int size;
+
+    void add(long postId, int weight) {
+        if (postId > this.lastPostId) {
+            // overlay의 postId는 모두 lastPostId 이하이므로 끝에 붙여도 순서가 유지됨
+            append(postId, weight);
+            this.size++;
+            return;
+        }
+        if (!contains(postId)) {
+            this.size++;
+        }
+        this.overlay.put(postId, weight);
+        compactIfNeeded();
+    }
+
+    void remove(long postId) {
+        if (!contains(postId)) {
+            return;
+        }
+        if (encodedContains(postId)) {
+            this.overlay.put(postId, TOMBSTONE);
+        } else {
+            this.overlay.remove(postId);
+        }
+        this.size--;
+        compactIfNeeded();
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    // overlay는 엔트리당 대략 48바이트로 계산
+    int bytes() {
+        return this.data.length + 12 * this.skipPostIds.length + 48 * this.overlay.size();
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    private boolean contains(long postId) {
+        Integer weight = this.overlay.get(postId);
+        return weight != null ? weight != TOMBSTONE : encodedContains(postId);
+    }
+
+    // skip pointer로 구간을 찾은 뒤 최대 SKIP_INTERVAL개만 읽음
+    private boolean encodedContains(long postId) {
+        EncodedCursor cursor = new EncodedCursor();
+        return cursor.advance(postId) && cursor.postId() == postId;
+    }
+
+    // overlay가 목록 크기의 1/16을 넘으면 다시 인코딩해서, 변경 한 번당 다시 쓰는 비용이 평균 게시글 16개 정도로 유지됨
+    private void compactIfNeeded() {
+        if (this.overlay.size() < Math.max(SKIP_INTERVAL, this.count >> 4)) {
+            return;
+        }
+        long[] postIds = new long[this.size];
+        int[] weights = new int[this.size];
+        Cursor cursor = new Cursor();
+        int i = 0;
+        while (cursor.next()) {
+            postIds[i] = cursor.postId();
+            weights[i] = cursor.weight();
+            i++;
+        }
+        this.overlay.clear();
+        reencode(postIds, weights, i);
+    }
+
+    private void append(long postId, int weight) {
+        if (this.count % SKIP_INTERVAL == 0) {
+            addSkip(postId, this.length);
+        }
+        ensureCapacity(this.length + 15);
+        writeVarLong(postId - this.lastPostId);
+        writeVarLong(weight);
+        this.lastPostId = postId;
+        this.count++;
+    }
+
+    private void reencode(long[] postIds, int[] weights, int postingCount) {
+        this.data = new byte[Math.max(8, postingCount * 3)];
+        this.length = 0;
+        this.count = 0;
+        this.lastPostId = 0L;
+        this.skipCount = 0;
+        for (int i = 0; i < postingCount; i++) {
+            append(postIds[i], weights[i]);
+        }
+        // 다시 인코딩한 뒤 남는 공간은 정리
+        if (this.data.length > this.length + 16) {
+            this.data = Arrays.copyOf(this.data, this.length + 8);
+        }
+    }
+
+    private void addSkip(long postId, int offset) {
+        if (this.skipCount == this.skipPostIds.length) {
+            int capacity = Math.max(4, this.skipCount * 2);
+            this.skipPostIds = Arrays.copyOf(this.skipPostIds, capacity);
+            this.skipOffsets = Arrays.copyOf(this.skipOffsets, capacity);
+        }
+        this.skipPostIds[this.skipCount] = postId;
+        this.skipOffsets[this.skipCount] = offset;
+        this.skipCount++;
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0L) {
+            this.data[this.length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        this.data[this.length++] = (byte) value;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > this.data.length) {
+            this.data = Arrays.copyOf(this.data, Math.max(required, this.data.length + (this.data.length >> 1)));
+        }
+    }
+
+    // 인코딩된 목록과 overlay를 합쳐 postId 오름차순으로 읽는 cursor, 목록이 바뀌지 않는 동안(read lock)만 사용
+    final class Cursor {
+        private final EncodedCursor encoded = new EncodedCursor();
+        private boolean positioned;
+        private long postId;
+        private int weight;
+
+        long postId() {
+            return this.postId;
+        }
+
+        int weight() {
+            return this.weight;
+        }
+
+        boolean next() {
+            return advance(this.positioned ? this.postId + 1 : 0L);
+        }
+
+        // target 이상인 첫 게시글로 이동, 없으면 false
+        boolean advance(long target) {
+            if (this.positioned && this.postId >= target) {
+                return true;
+            }
+            TreeMap<Long, Integer> overlay = PostingList.this.overlay;
+            while (true) {
+                boolean hasEncoded = this.encoded.advance(target);
+                Map.Entry<Long, Integer> pending = overlay.isEmpty() ? null : overlay.ceilingEntry(target);
+                if (pending == null) {
+                    return hasEncoded && position(this.encoded.postId(), this.encoded.weight());
+                }
+                if (hasEncoded && this.encoded.postId() < pending.getKey()) {
+                    return position(this.encoded.postId(), this.encoded.weight());
+                }
+                // 같은 postId면 overlay가 우선, 삭제된 게시글은 건너뜀
+                if (pending.getValue() != TOMBSTONE) {
+                    return position(pending.getKey(), pending.getValue());
+                }
+                target = pending.getKey() + 1;
+            }
+        }
+
+        private boolean position(long postId, int weight) {
+            this.positioned = true;
+            this.postId = postId;
+            this.weight = weight;
+            return true;
+        }
+    }
+
+    // 인코딩된 바이트 배열만 따라가는 cursor
+    private final class EncodedCursor {
+        private int index = -1;
+        private int position;
+        private long postId;
+        private int weight;
+
+        long postId() {
+            return this.postId;
+        }
+
+        int weight() {
+            return this.weight;
+        }
+
+        boolean next() {
+            if (this.index + 1 >= PostingList.this.count) {
+                return false;
+            }
+            this.postId += readVarLong();
+            this.weight = (int) readVarLong();
+            this.index++;
+            return true;
+        }
+
+        // target 이상인 첫 게시글로 이동, 없으면 false
+        boolean advance(long target) {
+            if (this.index >= 0 && this.postId >= target) {
+                return true;
+            }
+            // 다음 구간이 target 이하에서 시작하면, target 이하에서 시작하는 가장 마지막 구간으로 건너뜀
+            int nextBlock = this.index < 0 ? 0 : this.index / SKIP_INTERVAL + 1;
+            long[] skipPostIds = PostingList.this.skipPostIds;
+            int skipCount = PostingList.this.skipCount;
+            if (nextBlock < skipCount && skipPostIds[nextBlock] <= target) {
+                int block = Arrays.binarySearch(skipPostIds, nextBlock, skipCount, target);
+                block = block >= 0 ? block : -block - 2;
+                this.position = PostingList.this.skipOffsets[block];
+                readVarLong();
+                this.postId = skipPostIds[block];
+                this.weight = (int) readVarLong();
+                this.index = block * SKIP_INTERVAL;
+                if (this.postId >= target) {
+                    return true;
+                }
+            }
+            while (next()) {
+                if (this.postId >= target) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private long readVarLong() {
+            byte[] data = PostingList.this.data;
+            long value = 0L;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[this.position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.ktb.community.search;
+
+import com.ktb.community.exception.custom.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// 검색 결과의 정렬 키인 (score, postId)를 담는 cursor
+// score는 같은 색인 상태에서 항상 같은 값이 나오도록 비트 그대로 저장
+public record SearchCursor(double score, long postId) {
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = Long.toHexString(Double.doubleToLongBits(this.score)) + SEPARATOR + this.postId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // null이나 빈 문자열이면 첫 페이지를 의미하므로 null 반환
+    public static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            double score = Double.longBitsToDouble(Long.parseUnsignedLong(raw.substring(0, separator), 16));
+            long postId = Long.parseLong(raw.substring(separator + 1));
+            return new SearchCursor(score, postId);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    // 정렬 순서(score 내림차순, postId 내림차순)에서 이 cursor 뒤에 오는지
+    boolean precedes(double otherScore, long otherPostId) {
+        return otherScore < this.score || (otherScore == this.score && otherPostId < this.postId);
+    }
+}
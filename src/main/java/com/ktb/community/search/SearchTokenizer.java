@@ -0,0 +1,71 @@
+package com.ktb.community.search;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// 검색용 토큰 분리
+// 한글은 형태소 분석 없이도 조사/어미가 붙은 단어를 찾을 수 있도록 연속된 음절을 2글자씩(bigram) 나누고,
+// 그 외 문자(영문, 숫자)는 공백/기호 기준 단어 그대로 사용
+public final class SearchTokenizer {
+
+    private SearchTokenizer() {
+    }
+
+    // 색인용, 토큰별 등장 횟수
+    public static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokenize(text, token -> frequencies.merge(token, 1, Integer::sum));
+        return frequencies;
+    }
+
+    // 검색어용, 중복 없이 입력 순서대로
+    public static Set<String> queryTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(query, terms::add);
+        return terms;
+    }
+
+    private interface TokenSink {
+        void accept(String token);
+    }
+
+    private static void tokenize(String text, TokenSink sink) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        boolean hangulRun = false;
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            boolean word = Character.isLetterOrDigit(c);
+            boolean hangul = word && isHangul(c);
+            // 문자 종류(한글/그 외)가 바뀌는 곳에서도 끊어서 "spring부트" 같은 단어를 나눔
+            if (start >= 0 && (!word || hangul != hangulRun)) {
+                emit(lower, start, i, hangulRun, sink);
+                start = -1;
+            }
+            if (word && start < 0) {
+                start = i;
+                hangulRun = hangul;
+            }
+        }
+    }
+
+    private static void emit(String text, int start, int end, boolean hangul, TokenSink sink) {
+        if (!hangul || end - start == 1) {
+            sink.accept(text.substring(start, end));
+            return;
+        }
+        for (int i = start; i + 2 <= end; i++) {
+            sink.accept(text.substring(i, i + 2));
+        }
+    }
+
+    private static boolean isHangul(char c) {
+        return (c >= '가' && c <= '힣') || (c >= 'ㄱ' && c <= 'ㆎ');
+    }
+}
@@ -1,5 +1,9 @@
 package com.ktb.community.service;
 
+import com.ktb.community.cache.AuthorCache;
+import com.ktb.community.cache.FeedCache;
+import com.ktb.community.counter.CountColumn;
+import com.ktb.community.counter.CountWriteBehind;
 import com.ktb.community.dto.request.CreateCommentRequestDto;
 import com.ktb.community.dto.request.UpdateCommentRequestDto;
 import com.ktb.community.dto.response.CommentResponseDto;
@@ -12,88 +16,176 @@ import com.ktb.community.exception.custom.CommentNotFoundException;
 import com.ktb.community.exception.custom.PostNotFoundException;
 import com.ktb.community.exception.custom.UnauthorizedException;
 import com.ktb.community.exception.custom.UserNotFoundException;
-import com.ktb.community.jwt.JwtUtil;
+import com.ktb.community.pagination.KeysetCursor;
+import com.ktb.community.pagination.KeysetPage;
+import com.ktb.community.pagination.PathCursor;
+import com.ktb.community.repository.CommentReplyReader;
 import com.ktb.community.repository.CommentRepository;
 import com.ktb.community.repository.PostRepository;
 import com.ktb.community.repository.UserRepository;
+import com.ktb.community.repository.projection.AuthorView;
+import com.ktb.community.repository.projection.CommentView;
+import com.ktb.community.repository.projection.ReplyView;
+import com.ktb.community.trending.TrendEvent;
+import com.ktb.community.trending.TrendingRanker;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 
 @Slf4j
 @Service
 public class CommentService {
+    private static final int PATH_SEGMENT_LENGTH = 8;
+
     CommentRepository commentRepository;
     PostRepository postRepository;
     UserRepository userRepository;
-    JwtUtil jwtUtil;
+    CountWriteBehind countWriteBehind;
+    FeedCache feedCache;
+    TrendingRanker trendingRanker;
+    CommentReplyReader commentReplyReader;
+    AuthorCache authorCache;
+    int replyPreviewSize;
+    int maxReplyDepth;
 
-    public CommentService(CommentRepository commentRepository, PostRepository postRepository, UserRepository userRepository, JwtUtil jwtUtil) {
+    public CommentService(CommentRepository commentRepository, PostRepository postRepository, UserRepository userRepository, CountWriteBehind countWriteBehind, FeedCache feedCache, TrendingRanker trendingRanker,
+                          CommentReplyReader commentReplyReader, AuthorCache authorCache,
+                          @Value("${comment.reply.preview-size}") int replyPreviewSize,
+                          @Value("${comment.reply.max-depth}") int maxReplyDepth) {
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
         this.userRepository = userRepository;
-        this.jwtUtil = jwtUtil;
+        this.countWriteBehind = countWriteBehind;
+        this.feedCache = feedCache;
+        this.trendingRanker = trendingRanker;
+        this.commentReplyReader = commentReplyReader;
+        this.authorCache = authorCache;
+        this.replyPreviewSize = replyPreviewSize;
+        this.maxReplyDepth = maxReplyDepth;
     }
 
 
-    public CursorCommentResponseDto<CommentResponseDto> getCommentList(Long postId, Long cursor, int size, String token) {
-        log.info("===== 댓글 목록 조회 요청 =====");
-        log.info("postId: {}, cursor: {}, size: {}", postId, cursor, size);
-
-        Long userId = this.jwtUtil.extractUserIdFromToken(token);
-        log.info("요청 userId: {}", userId);
-
-        List<Comment> comments;
+    // 최상위 댓글 한 페이지와 각 댓글의 앞쪽 답글을 함께 반환
+    // 최상위 댓글 조회 1번 + (답글이 있는 댓글이 하나라도 있으면) 답글 조회 1번
+    // + (캐시에 없는 작성자가 있으면) 작성자 조회 1번으로, 댓글 수와 관계없이 쿼리 수가 고정
+    public CursorCommentResponseDto<CommentResponseDto> getCommentList(Long postId, String cursor, int size, Long userId) {
+        List<CommentView> rows;
         Pageable pageable = PageRequest.of(0, size + 1);
+        KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
 
-        if (cursor == null) {
+        if (keysetCursor == null) {
             // cursor가 null이라면 첫 댓글 리스트 불러오기
-            log.info("첫 댓글 목록 조회");
-            comments = this.commentRepository.findByPostIdAndDeletedAtIsNullOrderByCreatedAtDesc(postId, pageable);
+            rows = this.commentRepository.findByPostIdAndDeletedAtIsNullOrderByCreatedAtDescIdDesc(postId, pageable);
         } else {
-            // cursor가 존재한다면 cursor를 기반으로 다음 댓글드 불러오기
-            log.info("cursor 기반 다음 댓글 조회");
-            comments = this.commentRepository.findByPostIdAndIdLessThanAndDeletedAtIsNullOrderByCreatedAtDesc(postId, cursor, pageable);
+            // cursor가 존재한다면 마지막으로 본 (created_at, id) 다음 댓글들 불러오기
+            rows = this.commentRepository.findPageBeforeByPostIdAndDeletedAtIsNull(
+                    postId, keysetCursor.createdAt(), keysetCursor.id(), pageable);
         }
+        KeysetPage<CommentView> page = KeysetPage.of(rows, size, CommentView::createdAt, CommentView::id);
 
-        boolean hasNext = comments.size() > size;
-        if (hasNext) {
-            comments = comments.subList(0, size);
-        }
+        // reply_count가 0인 댓글은 답글 조회 대상에서 제외
+        List<Long> rootIds = page.items().stream()
+                .filter(comment -> comment.replyCount() > 0)
+                .map(CommentView::id)
+                .toList();
+        List<ReplyView> replies = this.commentReplyReader.findFirstReplies(rootIds, this.replyPreviewSize);
+
+        // 댓글과 답글의 작성자를 모아서 한 번에 채움
+        Set<Long> authorIds = new HashSet<>();
+        page.items().forEach(comment -> authorIds.add(comment.authorId()));
+        replies.forEach(reply -> authorIds.add(reply.authorId()));
+        Map<Long, AuthorView> authors = this.authorCache.getAll(authorIds);
 
-        List<CommentResponseDto> commentList = comments.stream()
+        Map<Long, List<CommentResponseDto>> repliesByRoot = replies.stream()
+                .collect(Collectors.groupingBy(ReplyView::rootId, Collectors.mapping(reply -> toReplyResponse(reply, authors, userId), Collectors.toList())));
+
+        List<CommentResponseDto> commentList = page.items().stream()
                 .map(comment -> CommentResponseDto.builder()
-                        .id(comment.getId())
-                        .author(comment.getUser().getNickname())
-                        .content(comment.getContent())
-                        .createdAt(comment.getCreatedAt())
-                        .isMine(comment.getUser().getId().equals(userId)) // 인증이 추가되면 로직 변경하기
+                        .id(comment.id())
+                        .author(nickname(authors, comment.authorId()))
+                        .authorProfileImage(profileImage(authors, comment.authorId()))
+                        .content(comment.content())
+                        .createdAt(comment.createdAt())
+                        .isMine(comment.authorId().equals(userId))
+                        .replyCount(comment.replyCount())
+                        .replies(repliesByRoot.getOrDefault(comment.id(), List.of()))
                         .build())
                 .toList();
 
-        Long nextCursor = !commentList.isEmpty() ? commentList.getLast().getId() : null;
+        // 요청 단위 기록은 RequestSummaryFilter가 남기므로 여기서는 디버깅용 한 줄만 (댓글 내용은 남기지 않음)
+        log.debug("comment list postId={} cursor={} size={} returned={} hasNext={}",
+                postId, cursor, size, commentList.size(), page.hasNext());
+
+        return new CursorCommentResponseDto<>(commentList, page.nextCursor(), page.hasNext());
+    }
+
+    // 댓글 아래의 답글 전체를 트리 순서(path)로 keyset pagination, 목록에서 미리 보여준 답글 이후를 펼칠 때 사용
+    public CursorCommentResponseDto<CommentResponseDto> getReplies(Long commentId, String cursor, int size, Long userId) {
+        Comment comment = this.commentRepository.findById(commentId)
+                .filter(found -> found.getDeletedAt() == null)
+                .orElseThrow(() -> new CommentNotFoundException("Not found comment"));
+
+        // 최상위 댓글이면 스레드 전체, 답글이면 그 답글의 하위 답글만
+        Long rootId = comment.getDepth() == 0 ? comment.getId() : comment.getRootId();
+        String prefix = comment.getDepth() == 0 ? "" : comment.getPath() + "/";
+        PathCursor pathCursor = PathCursor.decode(cursor);
+        String after = pathCursor == null ? "" : pathCursor.path();
+
+        List<ReplyView> rows = this.commentRepository.findRepliesAfter(rootId, prefix, after, PageRequest.of(0, size + 1));
+        boolean hasNext = rows.size() > size;
+        List<ReplyView> items = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = items.isEmpty() ? null : new PathCursor(items.getLast().path()).encode();
+
+        Map<Long, AuthorView> authors = this.authorCache.getAll(items.stream().map(ReplyView::authorId).collect(Collectors.toSet()));
+        List<CommentResponseDto> replies = items.stream()
+                .map(reply -> toReplyResponse(reply, authors, userId))
+                .toList();
+        return new CursorCommentResponseDto<>(replies, nextCursor, hasNext);
+    }
+
+    private static CommentResponseDto toReplyResponse(ReplyView reply, Map<Long, AuthorView> authors, Long userId) {
+        return CommentResponseDto.builder()
+                .id(reply.id())
+                .author(nickname(authors, reply.authorId()))
+                .authorProfileImage(profileImage(authors, reply.authorId()))
+                .content(reply.content())
+                .createdAt(reply.createdAt())
+                .isMine(reply.authorId().equals(userId))
+                .parentId(reply.parentId())
+                .depth(reply.depth())
+                .build();
+    }
+
+    // 탈퇴 처리 중인 작성자는 조회되지 않으므로 null
+    private static String nickname(Map<Long, AuthorView> authors, Long authorId) {
+        AuthorView author = authors.get(authorId);
+        return author != null ? author.nickname() : null;
+    }
 
-        log.info("조회된 댓글 수: {}", commentList.size());
-        log.info("===== 댓글 내용 =====");
-        commentList.forEach(comment ->
-            log.info("댓글 ID: {}, 작성자: {}, 내용: {}, 작성일: {}, 내댓글: {}",
-                    comment.getId(), comment.getAuthor(), comment.getContent(),
-                    comment.getCreatedAt(), comment.isMine())
-        );
-        log.info("다음 커서: {}, 다음 페이지 존재: {}", nextCursor, hasNext);
-        log.info("======================");
+    private static String profileImage(Map<Long, AuthorView> authors, Long authorId) {
+        AuthorView author = authors.get(authorId);
+        return author != null ? author.profileImage() : null;
+    }
 
-        return new CursorCommentResponseDto<>(commentList, nextCursor, hasNext);
+    // 답글 path의 한 칸, id를 고정 길이 36진수로 바꿔서 문자열 순서와 id 순서가 같도록 함
+    private static String pathSegment(Long id) {
+        String segment = Long.toString(id, 36);
+        return "0".repeat(Math.max(0, PATH_SEGMENT_LENGTH - segment.length())) + segment;
     }
 
     @Transactional
-    public CrudCommentResponseDto writeComment(Long postId, String token, CreateCommentRequestDto createCommentRequestDto) {
-        Long userId = this.jwtUtil.extractUserIdFromToken(token);
+    public CrudCommentResponseDto writeComment(Long postId, Long userId, CreateCommentRequestDto createCommentRequestDto) {
         Post post = this.postRepository.findById(postId)
                 .orElseThrow(() -> new PostNotFoundException("Not found post"));
         User user = this.userRepository.findById(userId)
@@ -104,14 +196,37 @@ public class CommentService {
         comment.setPost(post);
         comment.setUser(user);
 
+        Comment parent = null;
+        if (createCommentRequestDto.getParentId() != null) {
+            parent = this.commentRepository.findById(createCommentRequestDto.getParentId())
+                    .filter(found -> found.getDeletedAt() == null && found.getPost().getId().equals(postId))
+                    .orElseThrow(() -> new CommentNotFoundException("Not found comment"));
+            if (parent.getDepth() >= this.maxReplyDepth) {
+                throw new IllegalArgumentException("Replies cannot be nested deeper than " + this.maxReplyDepth);
+            }
+            comment.setParent(parent);
+            comment.setDepth(parent.getDepth() + 1);
+            comment.setRootId(parent.getDepth() == 0 ? parent.getId() : parent.getRootId());
+        }
 
         Comment savedComment = this.commentRepository.save(comment);
+
+        if (parent != null) {
+            // path에 자기 id가 들어가므로 INSERT 이후에 채움 (Dirty Checking으로 UPDATE)
+            String segment = pathSegment(savedComment.getId());
+            savedComment.setPath(parent.getPath() == null ? segment : parent.getPath() + "/" + segment);
+            this.commentRepository.addReplyCount(savedComment.getRootId(), 1);
+        }
+
+        // 댓글 수는 count 행을 바로 갱신하지 않고 커밋 이후 버퍼에 모았다가 한 번에 반영
+        this.countWriteBehind.addAfterCommit(CountColumn.COMMENT, postId, 1L);
+        this.feedCache.countersChangedAfterCommit();
+        this.trendingRanker.recordAfterCommit(postId, TrendEvent.COMMENT, 1);
         return new CrudCommentResponseDto(savedComment.getId());
     }
 
     @Transactional
-    public CrudCommentResponseDto modifyComment(String token, UpdateCommentRequestDto updateCommentRequestDto) {
-        Long userId = this.jwtUtil.extractUserIdFromToken(token);
+    public CrudCommentResponseDto modifyComment(Long userId, UpdateCommentRequestDto updateCommentRequestDto) {
         // 작성자가 맞는지부터확인
         Comment comment = this.commentRepository.findById(updateCommentRequestDto.getCommentId())
                 .orElseThrow(() -> new CommentNotFoundException("Not found comment"));
@@ -126,8 +241,7 @@ public class CommentService {
     }
 
     @Transactional
-    public CrudCommentResponseDto removeComment(Long commentId, String token) {
-        Long userId = this.jwtUtil.extractUserIdFromToken(token);
+    public CrudCommentResponseDto removeComment(Long commentId, Long userId) {
         Comment comment = this.commentRepository.findById(commentId)
                 .orElseThrow(() -> new CommentNotFoundException("Not found comment"));
 
@@ -135,8 +249,28 @@ public class CommentService {
             throw new UnauthorizedException("You are not authorized to delete this comment");
         }
 
-        comment.setDeletedAt(java.time.LocalDateTime.now());
-        // @Transactional에 의해 자동으로 UPDATE 쿼리 실행 (Dirty Checking)
+        // 이미 삭제된 댓글이면 댓글 수를 다시 줄이지 않음
+        if (comment.getDeletedAt() == null) {
+            LocalDateTime now = LocalDateTime.now();
+            comment.setDeletedAt(now);
+            // @Transactional에 의해 자동으로 UPDATE 쿼리 실행 (Dirty Checking)
+
+            // 하위 답글도 함께 삭제, 답글이 없는 최상위 댓글은 조회 없이 건너뜀
+            int removed = 1;
+            if (comment.getDepth() == 0) {
+                if (comment.getReplyCount() > 0) {
+                    removed += this.commentRepository.softDeleteReplies(comment.getId(), "", now);
+                }
+            } else {
+                removed += this.commentRepository.softDeleteReplies(comment.getRootId(), comment.getPath() + "/", now);
+                this.commentRepository.addReplyCount(comment.getRootId(), -removed);
+            }
+
+            this.countWriteBehind.addAfterCommit(CountColumn.COMMENT, comment.getPost().getId(), -removed);
+            this.feedCache.countersChangedAfterCommit();
+            // 하위 답글은 댓글보다 나중에 작성되었으므로 댓글 작성 시각으로 빼면 원래 더한 값보다 많이 빼지 않음
+            this.trendingRanker.removeEventsAfterCommit(comment.getPost().getId(), TrendEvent.COMMENT, removed, comment.getCreatedAt());
+        }
 
         return new CrudCommentResponseDto(commentId);
     }
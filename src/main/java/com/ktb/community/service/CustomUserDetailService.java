@@ -23,6 +23,10 @@ public class CustomUserDetailService implements UserDetailsService {
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email).orElseThrow(() -> new UsernameNotFoundException("User not found with email : " + email));
+        // 탈퇴한 유저는 로그인, 토큰 인증 모두 거부
+        if (user.getDeletedAt() != null) {
+            throw new UsernameNotFoundException("User not found with email : " + email);
+        }
         // DB의 유저 Entity를 Spring Security가 이해할 수 있는 UserDetails 객체로 변환
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
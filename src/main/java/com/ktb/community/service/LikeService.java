@@ -1,16 +1,18 @@
 package com.ktb.community.service;
 
+import com.ktb.community.cache.FeedCache;
+import com.ktb.community.counter.LikeCounter;
 import com.ktb.community.dto.response.LikeResponseDto;
 import com.ktb.community.entity.*;
 import com.ktb.community.exception.custom.AlreadyExistLikeException;
 import com.ktb.community.exception.custom.NotExistLikeException;
 import com.ktb.community.exception.custom.PostNotFoundException;
 import com.ktb.community.exception.custom.UserNotFoundException;
-import com.ktb.community.jwt.JwtUtil;
-import com.ktb.community.repository.CountRepository;
 import com.ktb.community.repository.LikeRepository;
 import com.ktb.community.repository.PostRepository;
 import com.ktb.community.repository.UserRepository;
+import com.ktb.community.trending.TrendEvent;
+import com.ktb.community.trending.TrendingRanker;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,26 +21,26 @@ import java.time.LocalDateTime;
 
 @Service
 public class LikeService {
-    private final JwtUtil jwtUtil;
     private final LikeRepository likeRepository;
     private final UserRepository userRepository;
     private final PostRepository postRepository;
-    private final CountRepository countRepository;
+    private final LikeCounter likeCounter;
+    private final FeedCache feedCache;
+    private final TrendingRanker trendingRanker;
 
     @Autowired
-    public LikeService(JwtUtil jwtUtil, LikeRepository likeRepository, UserRepository userRepository, PostRepository postRepository, CountRepository countRepository) {
-        this.jwtUtil = jwtUtil;
+    public LikeService(LikeRepository likeRepository, UserRepository userRepository, PostRepository postRepository, LikeCounter likeCounter, FeedCache feedCache, TrendingRanker trendingRanker) {
         this.likeRepository = likeRepository;
         this.userRepository = userRepository;
         this.postRepository = postRepository;
-
-        this.countRepository = countRepository;
+        this.likeCounter = likeCounter;
+        this.feedCache = feedCache;
+        this.trendingRanker = trendingRanker;
     }
 
     @Transactional
-    public LikeResponseDto likePost(Long postId, String token) {
+    public LikeResponseDto likePost(Long postId, Long userId) {
         // TODO :  Redis도입하면 DB가아닌 Redis에서 관리하도록 변경하기
-        Long userId = this.jwtUtil.extractUserIdFromToken(token);
 
         // 연관된 유저와 게시글 찾기
         Post post = this.postRepository.findById(postId).orElseThrow(() -> new PostNotFoundException("Not found Post"));
@@ -47,9 +49,7 @@ public class LikeService {
 
         Like like = this.likeRepository.findById(pk).orElse(null);
 
-        Count count = this.countRepository.findByPostId(postId)
-                .orElseThrow(() -> new PostNotFoundException("Not found post"));
-
+        // 좋아요 수는 count 행을 읽고 쓰지 않고, 유저별 slot 행에 +1/-1만 반영
         if (like == null) {
             // 좋아요가 없으면 새로 생성
             like = new Like();
@@ -57,29 +57,35 @@ public class LikeService {
             like.setUser(user);
             like.setPost(post);
             this.likeRepository.save(like);
-            count.setLikeCount(count.getLikeCount() + 1);
+            this.likeCounter.add(postId, userId, 1L);
+            this.trendingRanker.recordAfterCommit(postId, TrendEvent.LIKE, 1);
         } else if (like.getDeletedAt() != null) {
             // 삭제된 좋아요 복구
             like.setDeletedAt(null);
-            count.setLikeCount(count.getLikeCount() + 1);
+            this.likeCounter.add(postId, userId, 1L);
+            this.trendingRanker.recordAfterCommit(postId, TrendEvent.LIKE, 1);
         }
         // else: 이미 활성화된 좋아요 존재 → 아무 작업도 하지 않고 postId만 반환
 
+        this.feedCache.countersChangedAfterCommit();
         return new LikeResponseDto(postId, true);
 
     }
 
     @Transactional
-    public LikeResponseDto unLikePost(Long postId, String token) {
+    public LikeResponseDto unLikePost(Long postId, Long userId) {
         // TODO :  Redis도입하면 DB가아닌 Redis에서 관리하도록 변경하기
-        Long userId = this.jwtUtil.extractUserIdFromToken(token);
         LikePK pk = new LikePK(userId, postId);
         Like like = this.likeRepository.findById(pk).orElseThrow(() -> new NotExistLikeException("Not exist like"));
 
-        Count count = countRepository.findByPostId(postId).orElseThrow(() -> new PostNotFoundException("Not found post"));
-        like.setDeletedAt(LocalDateTime.now());
-        count.setLikeCount(count.getLikeCount() - 1);
+        // 이미 취소된 좋아요라면 다시 감소시키지 않음
+        if (like.getDeletedAt() == null) {
+            like.setDeletedAt(LocalDateTime.now());
+            this.likeCounter.add(postId, userId, -1L);
+            this.trendingRanker.removeEventsAfterCommit(postId, TrendEvent.LIKE, 1, like.getCreatedAt());
+        }
 
+        this.feedCache.countersChangedAfterCommit();
         return new LikeResponseDto(postId, false);
     }
 }
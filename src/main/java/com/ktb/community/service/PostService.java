@@ -1,13 +1,28 @@
 package com.ktb.community.service;
 
+import com.ktb.community.cache.AuthorCache;
+import com.ktb.community.cache.FeedCache;
+import com.ktb.community.cache.PostDetailCache;
+import com.ktb.community.counter.CountColumn;
+import com.ktb.community.counter.CountWriteBehind;
+import com.ktb.community.counter.LikeCounter;
 import com.ktb.community.dto.request.CreatePostRequestDto;
 import com.ktb.community.dto.request.ModifyPostRequestDto;
 import com.ktb.community.dto.response.*;
 import com.ktb.community.entity.*;
 import com.ktb.community.exception.custom.PostNotFoundException;
 import com.ktb.community.exception.custom.UnauthorizedException;
-import com.ktb.community.jwt.JwtUtil;
+import com.ktb.community.maintenance.PostCascadeDeleter;
+import com.ktb.community.pagination.KeysetCursor;
+import com.ktb.community.pagination.KeysetPage;
 import com.ktb.community.repository.*;
+import com.ktb.community.repository.projection.AuthorView;
+import com.ktb.community.repository.projection.PostCountView;
+import com.ktb.community.repository.projection.PostSummaryView;
+import com.ktb.community.search.PostSearchIndex;
+import com.ktb.community.search.SearchCursor;
+import com.ktb.community.trending.TrendEvent;
+import com.ktb.community.trending.TrendingRanker;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -15,8 +30,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,92 +42,162 @@ public class PostService {
     private final PostRepository postRepository;
     private final CountRepository countRepository;
     private final ImageRepository imageRepository;
-    private final CommentRepository commentRepository;
-    private final UserRepository userRepository;
-    private final JwtUtil jwtUtil;
+    private final FeedCache feedCache;
+    private final PostDetailCache postDetailCache;
+    private final CountWriteBehind countWriteBehind;
+    private final LikeCounter likeCounter;
+    private final PostBatchWriter postBatchWriter;
+    private final PostCascadeDeleter postCascadeDeleter;
+    private final PostSearchIndex postSearchIndex;
+    private final TrendingRanker trendingRanker;
+    private final AuthorCache authorCache;
 
     @Autowired
-    public PostService(PostRepository postRepository, CountRepository countRepository, ImageRepository imageRepository, CommentRepository commentRepository, UserRepository userRepository, JwtUtil jwtUtil) {
+    public PostService(PostRepository postRepository, CountRepository countRepository, ImageRepository imageRepository, FeedCache feedCache, PostDetailCache postDetailCache, CountWriteBehind countWriteBehind, LikeCounter likeCounter, PostBatchWriter postBatchWriter, PostCascadeDeleter postCascadeDeleter, PostSearchIndex postSearchIndex, TrendingRanker trendingRanker, AuthorCache authorCache) {
         this.postRepository = postRepository;
         this.countRepository = countRepository;
         this.imageRepository = imageRepository;
-        this.commentRepository = commentRepository;
-        this.userRepository = userRepository;
-        this.jwtUtil = jwtUtil;
+        this.feedCache = feedCache;
+        this.postDetailCache = postDetailCache;
+        this.countWriteBehind = countWriteBehind;
+        this.likeCounter = likeCounter;
+        this.postBatchWriter = postBatchWriter;
+        this.postCascadeDeleter = postCascadeDeleter;
+        this.postSearchIndex = postSearchIndex;
+        this.trendingRanker = trendingRanker;
+        this.authorCache = authorCache;
     }
 
     @Transactional
-    public CrudPostResponseDto createPost(CreatePostRequestDto createPostRequestDto, String email) {
-        Post post = new Post();
-        post.setTitle(createPostRequestDto.getTitle());
-        post.setContent(createPostRequestDto.getContent());
-        User user = this.userRepository.findByEmail(email).orElseThrow(() -> new RuntimeException("Users not found"));
-        post.setUser(user);
-
-        Post savedPost = this.postRepository.save(post);
-
-        if (!createPostRequestDto.getImages().isEmpty()) {
-            List<String> imageUrls = createPostRequestDto.getImages();
-            List<Image> images = new ArrayList<>();
-            for (int i = 0; i < createPostRequestDto.getImages().size(); i++) {
-                Image img = new Image();
-                img.setUrl(imageUrls.get(i));
-                img.setPost(savedPost);
-                img.setDisplayOrder(i);
-                images.add(img);
-            }
-            this.imageRepository.saveAll(images);
+    public CrudPostResponseDto createPost(CreatePostRequestDto createPostRequestDto, Long userId) {
+        // post, image, count를 테이블마다 배치 한 번으로 저장 (이미지 수와 상관없이 왕복 수 일정)
+        List<Long> postIds = this.postBatchWriter.insertAll(List.of(toNewPost(createPostRequestDto, userId)));
+        this.likeCounter.createShards(postIds);
+        this.postSearchIndex.indexAfterCommit(postIds.getFirst(), createPostRequestDto.getTitle(), createPostRequestDto.getContent());
+
+        this.feedCache.invalidateAfterCommit();
+        return new CrudPostResponseDto(postIds.getFirst());
+    }
+
+    // 여러 게시글을 한 트랜잭션에서 저장, 게시글 수와 상관없이 테이블마다 배치 한 번
+    @Transactional
+    public List<CrudPostResponseDto> createPosts(List<CreatePostRequestDto> createPostRequestDtos, Long userId) {
+        List<PostBatchWriter.NewPost> posts = createPostRequestDtos.stream()
+                .map(dto -> toNewPost(dto, userId))
+                .toList();
+        List<Long> postIds = this.postBatchWriter.insertAll(posts);
+        this.likeCounter.createShards(postIds);
+        for (int i = 0; i < postIds.size(); i++) {
+            this.postSearchIndex.indexAfterCommit(postIds.get(i), posts.get(i).title(), posts.get(i).content());
         }
 
-        Count count = new Count();
-        count.setPost(savedPost);  // Post 설정 필수!
-        count.setLikeCount(0L);
-        count.setCommentCount(0L);
-        count.setViewCount(0L);
-        this.countRepository.save(count);
+        this.feedCache.invalidateAfterCommit();
+        return postIds.stream().map(CrudPostResponseDto::new).toList();
+    }
 
-        return new CrudPostResponseDto(savedPost.getId());
+    private static PostBatchWriter.NewPost toNewPost(CreatePostRequestDto dto, Long userId) {
+        List<String> images = dto.getImages() != null ? dto.getImages() : List.of();
+        return new PostBatchWriter.NewPost(userId, dto.getTitle(), dto.getContent(), images);
     }
 
-    public CursorPageResponseDto<PostResponseDto> getPostList(Long cursor, int size) {
+    public CursorPageResponseDto<PostResponseDto> getPostList(String cursor, int size) {
         Pageable pageable = PageRequest.of(0, size + 1);
+        KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
 
-        List<Post> posts;
-        if (cursor == null) {
+        List<PostSummaryView> rows;
+        if (keysetCursor == null) {
             // null이면 첫페이지
-            posts = this.postRepository.findByDeletedAtIsNullOrderByCreatedAtDesc(pageable);
+            rows = this.postRepository.findByDeletedAtIsNullOrderByCreatedAtDescIdDesc(pageable);
         } else {
-            // 다음 페이지
-            posts = this.postRepository.findByIdLessThanAndDeletedAtIsNullOrderByCreatedAtDesc(cursor, pageable);
+            // 다음 페이지, 마지막으로 본 (created_at, id) 이후부터 조회하므로 깊은 페이지도 비용이 같음
+            rows = this.postRepository.findPageBeforeAndDeletedAtIsNull(keysetCursor.createdAt(), keysetCursor.id(), pageable);
         }
+        KeysetPage<PostSummaryView> page = KeysetPage.of(rows, size, PostSummaryView::createdAt, PostSummaryView::id);
+
+        // 카운터까지 프로젝션 한 번으로 조회되므로 엔티티를 거치지 않고 바로 변환
+        List<PostResponseDto> postContent = toPostResponses(page.items());
+
+        return new CursorPageResponseDto<>(postContent, page.nextCursor(), page.hasNext());
+    }
 
-        boolean hasNext = posts.size() > size;
-        if (hasNext) {
-            // 다음 페이지가 존재한다면
-            posts = posts.subList(0, size);
+    // 검색은 메모리 역색인에서 하고, DB에는 결과 한 페이지의 게시글만 id로 조회
+    public CursorPageResponseDto<PostResponseDto> searchPosts(String query, String cursor, int size) {
+        PostSearchIndex.SearchResult result = this.postSearchIndex.search(query, SearchCursor.decode(cursor), size);
+        if (result.hits().isEmpty()) {
+            return new CursorPageResponseDto<>(List.of(), null, false);
         }
 
-        List<PostResponseDto> postContent = posts.stream()
-                .map(post -> {
-                    Count count = this.countRepository.findByPostId(post.getId()).orElse(null);
+        List<Long> postIds = result.hits().stream().map(PostSearchIndex.Hit::postId).toList();
+        // 색인 반영 전에 삭제된 게시글은 조회되지 않으므로 빠짐
+        List<PostResponseDto> posts = findSummariesInOrder(postIds);
+
+        String nextCursor = result.nextCursor() != null ? result.nextCursor().encode() : null;
+        return new CursorPageResponseDto<>(posts, nextCursor, result.hasNext());
+    }
 
+    // 메모리 순위에서 상위 게시글을 고르고, DB에는 그 게시글들만 id로 조회
+    public List<PostResponseDto> getTrendingPosts(int size) {
+        // 회원 탈퇴 등으로 삭제되었지만 아직 순위에 남은 게시글이 있을 수 있으므로 여유 있게 가져와서 자름
+        List<PostResponseDto> posts = findSummariesInOrder(this.trendingRanker.top(size * 2));
+        return posts.size() > size ? posts.subList(0, size) : posts;
+    }
+
+    // 주어진 id 순서를 유지해서 목록 응답으로 변환, 삭제된 게시글은 제외
+    private List<PostResponseDto> findSummariesInOrder(List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, PostSummaryView> rows = this.postRepository.findSummariesByIdIn(postIds).stream()
+                .collect(Collectors.toMap(PostSummaryView::id, Function.identity()));
+        return toPostResponses(postIds.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    // 작성자 닉네임은 user join 없이 AuthorCache에서 채움 (캐시에 없는 작성자만 IN 쿼리 한 번)
+    private List<PostResponseDto> toPostResponses(List<PostSummaryView> rows) {
+        Map<Long, AuthorView> authors = this.authorCache.getAll(rows.stream().map(PostSummaryView::authorId).collect(Collectors.toSet()));
+        return rows.stream()
+                .map(post -> {
+                    AuthorView author = authors.get(post.authorId());
                     return PostResponseDto.builder()
-                            .id(post.getId())
-                            .title(post.getTitle())
-                            .content(post.getContent())
-                            .author(post.getUser().getNickname())
-                            .createdAt(post.getCreatedAt())
-                            .views(count != null ? count.getViewCount() : 0L)
-                            .likes(count != null ? count.getLikeCount() : 0L)
-                            .comments(count != null ? count.getCommentCount() : 0L)
+                            .id(post.id())
+                            .title(post.title())
+                            .content(post.content())
+                            .author(author != null ? author.nickname() : null)
+                            .authorProfileImage(author != null ? author.profileImage() : null)
+                            .createdAt(post.createdAt())
+                            .views(post.viewCount())
+                            .likes(post.likeCount())
+                            .comments(post.commentCount())
                             .build();
-                }).collect(Collectors.toList());
-        Long nextCursor = !postContent.isEmpty() ? postContent.getLast().getId() : null;
-
-        return new CursorPageResponseDto<>(postContent, nextCursor, hasNext);
+                })
+                .toList();
     }
 
     public PostDetailResponseDto getPostContent(Long postId) {
+        // 본문은 캐시에서, 카운터는 count 테이블 한 행만 조회해서 덧씌움
+        PostDetailResponseDto body = this.postDetailCache.get(postId, () -> this.loadPostDetail(postId));
+        PostCountView count = this.countRepository.findCountViewByPostId(postId).orElse(null);
+
+        // 조회수는 row lock 없이 메모리에 모았다가 주기적으로 반영
+        this.countWriteBehind.add(CountColumn.VIEW, postId, 1L);
+        this.trendingRanker.recordAfterCommit(postId, TrendEvent.VIEW, 1);
+        long views = (count != null ? count.viewCount() : 0L) + this.countWriteBehind.pending(CountColumn.VIEW, postId);
+        long comments = (count != null ? count.commentCount() : 0L) + this.countWriteBehind.pending(CountColumn.COMMENT, postId);
+        AuthorView author = this.authorCache.get(body.getAuthorId());
+
+        return body.toBuilder()
+                .author(author != null ? author.nickname() : null)
+                .authorProfileImage(author != null ? author.profileImage() : null)
+                .views(views)
+                .likes(count != null ? count.likeCount() : 0L)
+                .comments(comments)
+                .build();
+    }
+
+    private PostDetailResponseDto loadPostDetail(Long postId) {
         Post post = this.postRepository.findById(postId).orElse(null);
 
         if (post == null) {
@@ -122,27 +209,19 @@ public class PostService {
                 .map(Image::getUrl)
                 .toList();
 
-        Count count = this.countRepository.findByPostId(post.getId()).orElse(null);
-
         return PostDetailResponseDto.builder()
                 .id(post.getId())
                 .title(post.getTitle())
                 .content(post.getContent())
-                .author(post.getUser().getNickname())
+                .authorId(post.getUser().getId())
                 .images(images)
                 .createdAt(post.getCreatedAt())
-                .views(count != null ? count.getViewCount() : 0L)
-                .likes(count != null ? count.getLikeCount() : 0L)
-                .comments(count != null ? count.getCommentCount() : 0L)
                 .build();
     }
 
 
     @Transactional
-    public CrudPostResponseDto modifyPostContent(Long postId, String token, ModifyPostRequestDto modifyPostRequestDto) {
-        // JWT에서 userId 추출
-        Long userId = this.jwtUtil.extractUserIdFromToken(token);
-
+    public CrudPostResponseDto modifyPostContent(Long postId, Long userId, ModifyPostRequestDto modifyPostRequestDto) {
         Post post = this.postRepository.findById(postId)
                 .orElseThrow(() -> new PostNotFoundException("Post not found"));
 
@@ -151,6 +230,9 @@ public class PostService {
             throw new UnauthorizedException("You are not authorized to modify this post");
         }
 
+        String oldTitle = post.getTitle();
+        String oldContent = post.getContent();
+
         // null이 아닌 필드만 업데이트
         if (modifyPostRequestDto.getTitle() != null) {
             post.setTitle(modifyPostRequestDto.getTitle());
@@ -165,12 +247,14 @@ public class PostService {
         // }
 
         // @Transactional에 의해 자동으로 UPDATE 쿼리 실행 (Dirty Checking)
+        this.feedCache.invalidateAfterCommit();
+        this.postDetailCache.bumpVersionAfterCommit(postId);
+        this.postSearchIndex.updateAfterCommit(postId, oldTitle, oldContent, post.getTitle(), post.getContent());
         return new CrudPostResponseDto(post.getId());
     }
 
     @Transactional
-    public CrudPostResponseDto removePost(Long postId, String token) {
-        Long userId = this.jwtUtil.extractUserIdFromToken(token);
+    public CrudPostResponseDto removePost(Long postId, Long userId) {
         Post post = this.postRepository.findById(postId)
                 .orElseThrow(() -> new PostNotFoundException("Post not found"));
         if (!userId.equals(post.getUser().getId())) {
@@ -180,13 +264,13 @@ public class PostService {
         // post를 soft delete
         post.setDeletedAt(LocalDateTime.now());
 
-        // 연관된 댓글들도 soft delete
-        List<Comment> comments = this.commentRepository.findByPostId(postId);
-        comments.forEach(comment -> comment.setDeletedAt(LocalDateTime.now()));
-
-        // TODO : 이미지 로직 추가되면 이미지 삭제로직 추가하기
-
+        // 연관된 댓글, 이미지, 좋아요는 엔티티로 읽지 않고 chunk 단위 UPDATE로 soft delete
+        this.postCascadeDeleter.cascade(postId);
+        this.postSearchIndex.removeAfterCommit(postId, post.getTitle(), post.getContent());
+        this.trendingRanker.removeAfterCommit(postId);
 
+        this.feedCache.invalidateAfterCommit();
+        this.postDetailCache.bumpVersionAfterCommit(postId);
         return new CrudPostResponseDto(postId);
     }
 }
@@ -1,15 +1,16 @@
 package com.ktb.community.service;
 
+import com.ktb.community.cache.RefreshTokenBloomFilter;
 import com.ktb.community.dto.response.ReIssueRefreshTokenDto;
 import com.ktb.community.entity.Refresh;
 import com.ktb.community.entity.User;
 import com.ktb.community.exception.custom.InvalidRefreshTokenException;
-import com.ktb.community.exception.custom.UserNotFoundException;
+import com.ktb.community.jwt.JwtPrincipal;
 import com.ktb.community.jwt.JwtUtil;
 import com.ktb.community.repository.RefreshRepository;
-import com.ktb.community.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -21,13 +22,15 @@ import java.util.List;
 public class RefreshTokenService {
     private final RefreshRepository refreshRepository;
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final RefreshTokenBloomFilter refreshTokenBloomFilter;
+    private final TransactionTemplate transactionTemplate;
 
 
-    public RefreshTokenService(RefreshRepository refreshRepository, JwtUtil jwtUtil, UserRepository userRepository) {
+    public RefreshTokenService(RefreshRepository refreshRepository, JwtUtil jwtUtil, RefreshTokenBloomFilter refreshTokenBloomFilter, TransactionTemplate transactionTemplate) {
         this.refreshRepository = refreshRepository;
         this.jwtUtil = jwtUtil;
-        this.userRepository = userRepository;
+        this.refreshTokenBloomFilter = refreshTokenBloomFilter;
+        this.transactionTemplate = transactionTemplate;
     }
 
     public void saveRefreshToken(String token, User user, LocalDateTime expiredAt) {
@@ -37,64 +40,58 @@ public class RefreshTokenService {
         refreshToken.setExpirationAt(expiredAt);
 
         refreshRepository.save(refreshToken);
+        this.refreshTokenBloomFilter.addAfterCommit(token);
     }
 
     public Refresh findByToken(String token) {
         return refreshRepository.findByRefreshToken(token).orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
     }
 
-    public Boolean existByToken(String token) {
-        return this.refreshRepository.existsByRefreshToken(token);
-    }
-
     public Refresh checkExistRefreshToken(String token) {
         return findByToken(token);
     }
 
-    public String reIssueAccessToken(String refreshToken) {
-        if (!jwtUtil.validateToken(refreshToken)) {
-            throw new InvalidRefreshTokenException("Invalid or expired refresh token");
+    // access token은 항상 새로 발급하고, refresh token은 만료가 가까울 때만 재발급
+    // 서명/만료 검증과 Bloom filter는 트랜잭션(커넥션) 없이 먼저 확인해서 위조 토큰은 DB까지 가지 않음
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public ReIssueRefreshTokenDto reIssueTokens(String refreshToken) {
+        JwtPrincipal principal = this.jwtUtil.parseAndVerify(refreshToken);
+        if (principal == null || !this.refreshTokenBloomFilter.mightContain(refreshToken, principal.issuedAt())) {
+            throw new InvalidRefreshTokenException("Invalid refresh token");
         }
-        Refresh refresh = checkExistRefreshToken(refreshToken);
+        return this.transactionTemplate.execute(status -> reIssueTokens(refreshToken, principal));
+    }
 
+    // DB 조회는 유저를 포함해 한 번만 수행
+    private ReIssueRefreshTokenDto reIssueTokens(String refreshToken, JwtPrincipal principal) {
+        Refresh refresh = this.refreshRepository.findWithUserByRefreshToken(refreshToken)
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
         if (refresh.getExpirationAt().isBefore(LocalDateTime.now())) {
             throw new InvalidRefreshTokenException("Refresh token expired");
         }
-
-        return this.jwtUtil.generateAccessToken(refresh.getUser().getId(), refresh.getUser().getEmail());
-    }
-
-    // 무조건 refresh token을 재갱신 해주기
-    @Transactional
-    public ReIssueRefreshTokenDto reIssueRefreshToken(String refreshToken) {
-        // 존재하지 않는 다면 유효하지 않은 토큰
-        if (!this.existByToken(refreshToken)) {
-            throw new InvalidRefreshTokenException("Invalid refresh token");
-        }
-
-        LocalDateTime date1 = this.jwtUtil.getExpirationFromToken(refreshToken).truncatedTo(ChronoUnit.DAYS);
-
-        if (date1.isBefore(LocalDateTime.now())){
+        User user = refresh.getUser();
+        // 탈퇴 처리 중인 유저의 토큰은 삭제 작업이 지우기 전이라도 재발급하지 않음
+        if (user.getDeletedAt() != null) {
             throw new InvalidRefreshTokenException("Invalid refresh token");
         }
+        String accessToken = this.jwtUtil.generateAccessToken(user.getId(), user.getEmail());
 
+        LocalDateTime date1 = principal.expiresAt().truncatedTo(ChronoUnit.DAYS);
         LocalDateTime date2 = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
         Duration diff = Duration.between(date2, date1);
         long remainingDays = diff.toDays();
         // refresh Token이 30%보다 많이 남았다면
         if (remainingDays > 3){
-            return new ReIssueRefreshTokenDto(refreshToken);
+            return new ReIssueRefreshTokenDto(refreshToken, accessToken);
         }
 
         // 3일 이하 남았으면 재발급
-        Refresh refresh = checkExistRefreshToken(refreshToken);
-        String newRefreshToken = this.jwtUtil.generateRefreshToken(refresh.getUser().getId());
-        User user = this.userRepository.findById(refresh.getUser().getId()).orElseThrow(() -> new UserNotFoundException("User not found"));
+        String newRefreshToken = this.jwtUtil.generateRefreshToken(user.getId());
         LocalDateTime expiredAt = this.jwtUtil.getExpirationFromToken(newRefreshToken);
-        this.removeRefreshToken(refreshToken);
+        this.refreshRepository.delete(refresh);
         this.saveRefreshToken(newRefreshToken, user, expiredAt);
 
-        return new ReIssueRefreshTokenDto(newRefreshToken);
+        return new ReIssueRefreshTokenDto(newRefreshToken, accessToken);
     }
 
     public List<Refresh> findAllTokens(Long userId) {
@@ -109,12 +106,6 @@ public class RefreshTokenService {
         this.refreshRepository.deleteAllByUserId(userId);
     }
 
-    public void deleteExpiredTokens() {
-        List<Refresh> tokens = this.refreshRepository.findAll();
-        List<Refresh> expiredTokens = tokens.stream().filter((token) -> token.getExpirationAt().isBefore(LocalDateTime.now())).toList();
-        this.refreshRepository.deleteAll(expiredTokens);
-    }
-
     public int calculateRemainingSeconds(String refreshToken) {
         LocalDateTime expirationAt = this.jwtUtil.getExpirationFromToken(refreshToken);
         LocalDateTime now = LocalDateTime.now();
@@ -1,5 +1,8 @@
 package com.ktb.community.service;
 
+import com.ktb.community.cache.AuthorCache;
+import com.ktb.community.cache.FeedCache;
+import com.ktb.community.cache.UserDetailsCache;
 import com.ktb.community.dto.request.ModifyNicknameRequestDto;
 import com.ktb.community.dto.response.AvailabilityResponseDto;
 import com.ktb.community.dto.response.CrudUserResponseDto;
@@ -8,11 +11,14 @@ import com.ktb.community.entity.Comment;
 import com.ktb.community.entity.Count;
 import com.ktb.community.entity.Post;
 import com.ktb.community.entity.User;
+import com.ktb.community.entity.UserDeletionJob;
 import com.ktb.community.exception.custom.DuplicateNicknameException;
 import com.ktb.community.exception.custom.InvalidNicknameException;
 import com.ktb.community.exception.custom.UserNotFoundException;
 import com.ktb.community.jwt.JwtUtil;
+import com.ktb.community.maintenance.UserDeletionWorker;
 import com.ktb.community.repository.*;
+import com.ktb.community.util.PasswordPolicy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,7 +29,6 @@ import java.util.List;
 @Service
 @Transactional(readOnly = true)
 public class UserService {
-
     private final UserRepository userRepository;
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
@@ -32,9 +37,14 @@ public class UserService {
     private final LikeRepository likeRepository;
     private final RefreshRepository refreshRepository;
     private final JwtUtil jwtUtil;
+    private final UserDetailsCache userDetailsCache;
+    private final UserDeletionJobRepository userDeletionJobRepository;
+    private final UserDeletionWorker userDeletionWorker;
+    private final AuthorCache authorCache;
+    private final FeedCache feedCache;
 
     @Autowired
-    public UserService(UserRepository userRepository, PostRepository postRepository, CommentRepository commentRepository, CountRepository countRepository, ImageRepository imageRepository, LikeRepository likeRepository, RefreshRepository refreshRepository, JwtUtil jwtUtil) {
+    public UserService(UserRepository userRepository, PostRepository postRepository, CommentRepository commentRepository, CountRepository countRepository, ImageRepository imageRepository, LikeRepository likeRepository, RefreshRepository refreshRepository, JwtUtil jwtUtil, UserDetailsCache userDetailsCache, UserDeletionJobRepository userDeletionJobRepository, UserDeletionWorker userDeletionWorker, AuthorCache authorCache, FeedCache feedCache) {
         this.userRepository = userRepository;
         this.postRepository = postRepository;
         this.commentRepository = commentRepository;
@@ -43,6 +53,11 @@ public class UserService {
         this.likeRepository = likeRepository;
         this.refreshRepository = refreshRepository;
         this.jwtUtil = jwtUtil;
+        this.userDetailsCache = userDetailsCache;
+        this.userDeletionJobRepository = userDeletionJobRepository;
+        this.userDeletionWorker = userDeletionWorker;
+        this.authorCache = authorCache;
+        this.feedCache = feedCache;
     }
 
     public AvailabilityResponseDto checkDuplicateEmail(String email) {
@@ -50,10 +65,7 @@ public class UserService {
     }
 
     public AvailabilityResponseDto checkValidityPassword(String password) {
-        // 최소 8자, 소문자 1개 이상, 숫자 1개 이상, 특수문자 1개 이상
-        String regex = "^(?=.*[a-z])(?=.*\\d)(?=.*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>/?]).{8,}$";
-        boolean isValid = password.matches(regex);
-        return new AvailabilityResponseDto(isValid);
+        return new AvailabilityResponseDto(PasswordPolicy.isValid(password));
     }
 
     public UserInfoResponseDto readMyInfo(String email) {
@@ -77,34 +89,31 @@ public class UserService {
         }
 
         user.setNickname(newNickname);
+        this.userDetailsCache.invalidateAfterCommit(email);
+        // 목록/상세의 작성자 닉네임은 AuthorCache에서 채우고, 게시글 첫 페이지는 직렬화된 응답째로 캐시되므로 둘 다 무효화
+        this.authorCache.invalidateAfterCommit(user.getId());
+        this.feedCache.invalidateAfterCommit();
         return new CrudUserResponseDto(user.getId());
     }
 
     @Transactional
-    public void removeUser(String email) {
-//        // 유저 유효성 검사
-//        User user = this.userRepository.findByEmail(email).orElseThrow(() -> new UserNotFoundException("Not found user"));
-//
-//        // 사용자부터 먼저 삭제 처리
-//        LocalDateTime now = LocalDateTime.now();
-//        user.setDeletedAt(now);
-//
-//        // 연관된 포스트, 해당 포스트의 댓글, 집계 테이블 삭제
-//        List<Post> postList = this.postRepository.findAllByUser(user);
-//        postList.forEach(post ->
-//                post.setDeletedAt(now)
-//        );
-//        List<Comment> commentListWithPost = this.commentRepository.findByPostIn(postList);
-//        commentListWithPost.forEach(comment -> comment.setDeletedAt(now));
-//
-//
-//        // 연관된 댓글 삭제 처리
-//        List<Comment> commentListWithUser = this.commentRepository.findByUser(user);
-//        commentListWithUser.forEach(comment -> comment.setDeletedAt(now));
-//
-//        //
-//
-//
-//    }
+    public CrudUserResponseDto removeUser(String email) {
+        User user = this.userRepository.findByEmail(email)
+                .orElseThrow(() -> new UserNotFoundException("Not found user"));
+
+        // 이미 탈퇴 처리된 유저라면 진행 중인 작업에 맡김
+        if (user.getDeletedAt() == null) {
+            // 유저는 바로 soft delete해서 로그인과 토큰 인증을 막고,
+            // 게시글/댓글/좋아요/refresh token 정리는 커밋 이후 백그라운드 작업에서 chunk 단위로 처리
+            user.setDeletedAt(LocalDateTime.now());
+            UserDeletionJob job = this.userDeletionJobRepository.findByUserId(user.getId())
+                    .orElseGet(() -> this.userDeletionJobRepository.save(new UserDeletionJob(user.getId())));
+            this.userDeletionWorker.startAfterCommit(job.getId());
+        }
+
+        this.userDetailsCache.invalidateAfterCommit(email);
+        // 게시글/댓글이 정리되기 전에도 목록에 탈퇴한 유저의 닉네임이 남지 않도록 함
+        this.authorCache.invalidateAfterCommit(user.getId());
+        return new CrudUserResponseDto(user.getId());
     }
 }
@@ -0,0 +1,6 @@
+package com.ktb.community.trending;
+
+// 인기 점수에 반영되는 이벤트 종류, 가중치는 trending.weight.* 설정으로 조정
+public enum TrendEvent {
+    LIKE, COMMENT, VIEW
+}
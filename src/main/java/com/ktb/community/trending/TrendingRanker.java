@@ -0,0 +1,221 @@
+package com.ktb.community.trending;
+
+import com.ktb.community.util.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class TrendingRanker {
+    // 좋아요/댓글/조회 이벤트로 게시글 인기 점수를 메모리에서 바로 갱신하고 상위 K개를 O(K)로 반환
+    // 점수는 시간이 지날수록 지수적으로 줄어들어야 하지만, 모든 게시글이 같은 비율로 줄어들기 때문에 순위는 바뀌지 않음
+    // 그래서 매번 감쇠시키지 않고 (이벤트 가중치 × e^((이벤트 시각 - 기준 시각) / τ))의 합을 log로 보관 (lazy decay)
+    // 현재 시점의 실제 점수는 e^(logScore - (지금 - 기준 시각) / τ)
+
+    // 점수 기준 시각, checkpoint에 저장된 값을 재시작 후에도 그대로 쓰기 위해 고정
+    private static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    private record Entry(double logScore, long postId) {
+    }
+
+    // 점수 내림차순, 같은 점수면 최신 게시글 먼저
+    private static final Comparator<Entry> RANKING = Comparator.comparingDouble(Entry::logScore).reversed()
+            .thenComparing(Comparator.comparingLong(Entry::postId).reversed());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final double tauMillis;
+    private final int maxTracked;
+    private final Map<TrendEvent, Double> weights = new EnumMap<>(TrendEvent.class);
+
+    private final Map<Long, Double> scores = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry> ranking = new ConcurrentSkipListSet<>(RANKING);
+    private final ReentrantLock checkpointLock = new ReentrantLock();
+
+    public TrendingRanker(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                          @Value("${trending.half-life-ms}") long halfLifeMillis,
+                          @Value("${trending.max-tracked}") int maxTracked,
+                          @Value("${trending.weight.like}") double likeWeight,
+                          @Value("${trending.weight.comment}") double commentWeight,
+                          @Value("${trending.weight.view}") double viewWeight) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.tauMillis = halfLifeMillis / Math.log(2);
+        this.maxTracked = maxTracked;
+        this.weights.put(TrendEvent.LIKE, likeWeight);
+        this.weights.put(TrendEvent.COMMENT, commentWeight);
+        this.weights.put(TrendEvent.VIEW, viewWeight);
+
+        Gauge.builder("trending.tracked", this.scores, Map::size).register(meterRegistry);
+    }
+
+    // 좋아요, 댓글 작성처럼 트랜잭션 결과에 따라 반영 여부가 정해지므로 커밋 이후에 반영
+    public void recordAfterCommit(Long postId, TrendEvent event, int delta) {
+        AfterCommit.run(() -> record(postId, event, delta, System.currentTimeMillis()));
+    }
+
+    // 좋아요 취소, 댓글 삭제는 지금 시각의 가중치가 아니라 원래 이벤트가 더했던 값(occurredAt 기준)을 뺌
+    // 지금 시각으로 빼면 그 사이 감쇠된 만큼 더 많이 빠져서 다른 이벤트로 쌓인 점수까지 지워짐
+    public void removeEventsAfterCommit(Long postId, TrendEvent event, int count, LocalDateTime occurredAt) {
+        AfterCommit.run(() -> {
+            long nowMillis = System.currentTimeMillis();
+            long occurredMillis = occurredAt == null ? nowMillis : occurredAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            record(postId, event, -count, Math.min(occurredMillis, nowMillis));
+        });
+    }
+
+    // eventMillis는 이벤트가 일어난 시각, 감소 이벤트면 원래 증가 이벤트의 시각
+    public void record(Long postId, TrendEvent event, int delta, long eventMillis) {
+        double weight = this.weights.get(event) * Math.abs(delta);
+        if (weight == 0.0) {
+            return;
+        }
+        double logDelta = Math.log(weight) + (eventMillis - EPOCH_MILLIS) / this.tauMillis;
+        // 게시글 단위로 원자적으로 점수와 정렬용 entry를 함께 교체
+        this.scores.compute(postId, (id, previous) -> {
+            double next;
+            if (previous == null) {
+                // 추적하지 않던 게시글의 감소 이벤트는 무시
+                if (delta < 0) {
+                    return null;
+                }
+                next = logDelta;
+            } else {
+                this.ranking.remove(new Entry(previous, id));
+                next = delta > 0 ? logAdd(previous, logDelta) : logSubtract(previous, logDelta);
+            }
+            // 점수가 0이 되면 더 이상 추적하지 않음 (다시 증가하면 0부터 시작하는 것과 같음)
+            if (next == Double.NEGATIVE_INFINITY) {
+                return null;
+            }
+            this.ranking.add(new Entry(next, id));
+            return next;
+        });
+    }
+
+    public void removeAfterCommit(Long postId) {
+        AfterCommit.run(() -> this.scores.computeIfPresent(postId, (id, previous) -> {
+            this.ranking.remove(new Entry(previous, id));
+            return null;
+        }));
+    }
+
+    // 상위 K개의 게시글 id를 순위대로 반환
+    public List<Long> top(int k) {
+        List<Long> postIds = new ArrayList<>(k);
+        Iterator<Entry> iterator = this.ranking.iterator();
+        while (postIds.size() < k && iterator.hasNext()) {
+            postIds.add(iterator.next().postId());
+        }
+        return postIds;
+    }
+
+    // 지금 시점으로 감쇠시킨 실제 점수, 추적하지 않는 게시글이면 0
+    public double currentScore(Long postId, long nowMillis) {
+        Double logScore = this.scores.get(postId);
+        if (logScore == null) {
+            return 0.0;
+        }
+        return Math.exp(logScore - (nowMillis - EPOCH_MILLIS) / this.tauMillis);
+    }
+
+    // log(e^a + e^b)를 overflow 없이 계산
+    private static double logAdd(double a, double b) {
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+
+    // log(max(e^a - e^b, 0)), 0 이하로 내려가지 않도록 0(= log 값 -∞)에서 멈춤
+    private static double logSubtract(double a, double b) {
+        if (b >= a) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return a + Math.log1p(-Math.exp(b - a));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        try {
+            this.jdbcTemplate.query("select post_id, log_score from trending_score", rs -> {
+                long postId = rs.getLong(1);
+                double logScore = rs.getDouble(2);
+                this.scores.compute(postId, (id, previous) -> {
+                    double next = previous == null ? logScore : logAdd(previous, logScore);
+                    if (previous != null) {
+                        this.ranking.remove(new Entry(previous, id));
+                    }
+                    this.ranking.add(new Entry(next, id));
+                    return next;
+                });
+            });
+            log.info("Restored {} trending scores", this.scores.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to restore trending scores, starting empty: {}", e.getMessage());
+        }
+    }
+
+    // 순위 밖으로 밀려난 게시글을 정리하고, 남은 점수를 테이블 통째로 교체해서 저장
+    @Scheduled(fixedDelayString = "${trending.checkpoint-interval-ms}")
+    public void checkpoint() {
+        if (!this.checkpointLock.tryLock()) {
+            return;
+        }
+        try {
+            prune();
+            List<Entry> snapshot = new ArrayList<>(this.ranking);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            this.transactionTemplate.executeWithoutResult(status -> {
+                this.jdbcTemplate.update("delete from trending_score");
+                this.jdbcTemplate.batchUpdate("insert into trending_score (post_id, log_score, updated_at) values (?, ?, ?)",
+                        snapshot, 500, (ps, entry) -> {
+                            ps.setLong(1, entry.postId());
+                            ps.setDouble(2, entry.logScore());
+                            ps.setTimestamp(3, now);
+                        });
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to checkpoint trending scores: {}", e.getMessage());
+        } finally {
+            this.checkpointLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void checkpointOnShutdown() {
+        checkpoint();
+    }
+
+    private void prune() {
+        while (this.scores.size() > this.maxTracked) {
+            Entry lowest = this.ranking.pollLast();
+            if (lowest == null) {
+                break;
+            }
+            this.scores.remove(lowest.postId(), lowest.logScore());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ktb.community.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class AfterCommit {
+    // 캐시 무효화처럼 커밋된 데이터를 기준으로 해야 하는 작업을 트랜잭션 커밋 이후로 미루는 유틸
+    // 트랜잭션 밖에서 호출되면 바로 실행
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,18 @@
+package com.ktb.community.util;
+
+import java.util.regex.Pattern;
+
+public final class PasswordPolicy {
+    // 최소 8자, 소문자 1개 이상, 숫자 1개 이상, 특수문자 1개 이상
+    // String.matches는 호출마다 정규식을 다시 컴파일하므로 한 번만 컴파일해서 재사용
+
+    private static final Pattern PASSWORD_PATTERN =
+            Pattern.compile("^(?=.*[a-z])(?=.*\\d)(?=.*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>/?]).{8,}$");
+
+    private PasswordPolicy() {
+    }
+
+    public static boolean isValid(String password) {
+        return password != null && PASSWORD_PATTERN.matcher(password).matches();
+    }
+}
@@ -0,0 +1,96 @@
+package com.ktb.community.cacheTest;
+
+import com.ktb.community.cache.AuthorCache;
+import com.ktb.community.repository.UserRepository;
+import com.ktb.community.repository.projection.AuthorView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("작성자 캐시 테스트")
+public class AuthorCacheTest {
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AuthorCache authorCache = new AuthorCache(this.userRepository, new SimpleMeterRegistry(), 60_000L, 100);
+
+    // 요청받은 id를 그대로 작성자로 돌려주고, 닉네임 앞에 prefix를 붙임
+    private void answerWith(String prefix) {
+        when(this.userRepository.findAuthorsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> new AuthorView(id, prefix + id, null)).toList();
+        });
+    }
+
+    @Test
+    @DisplayName("캐시에 없는 작성자만 모아서 한 번에 조회한다")
+    void loadOnlyMissesInOneQuery() {
+        // given
+        answerWith("user");
+        this.authorCache.getAll(List.of(1L, 2L));
+
+        // when
+        Map<Long, AuthorView> authors = this.authorCache.getAll(List.of(1L, 2L, 3L, 4L));
+
+        // then
+        assertThat(authors).containsOnlyKeys(1L, 2L, 3L, 4L);
+        assertThat(authors.get(3L).nickname()).isEqualTo("user3");
+        verify(this.userRepository).findAuthorsByIdIn(Set.of(1L, 2L));
+        verify(this.userRepository).findAuthorsByIdIn(Set.of(3L, 4L));
+    }
+
+    @Test
+    @DisplayName("모든 작성자가 캐시에 있으면 DB를 조회하지 않는다")
+    void skipQueryOnFullHit() {
+        // given
+        answerWith("user");
+        this.authorCache.getAll(List.of(1L, 2L));
+
+        // when
+        this.authorCache.getAll(List.of(2L, 1L));
+
+        // then
+        verify(this.userRepository, times(1)).findAuthorsByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("무효화된 작성자는 다음 조회 때 바뀐 닉네임으로 다시 조회한다")
+    void reloadAfterInvalidation() {
+        // given
+        answerWith("before");
+        assertThat(this.authorCache.get(1L).nickname()).isEqualTo("before1");
+
+        // when
+        answerWith("after");
+        this.authorCache.invalidateAfterCommit(1L);
+
+        // then
+        assertThat(this.authorCache.get(1L).nickname()).isEqualTo("after1");
+    }
+
+    @Test
+    @DisplayName("조회되지 않는 (탈퇴한) 작성자도 캐시해서 다시 조회하지 않는다")
+    void cacheMissingAuthors() {
+        // given
+        when(this.userRepository.findAuthorsByIdIn(anyCollection())).thenReturn(List.of(new AuthorView(1L, "user1", null)));
+        this.authorCache.getAll(List.of(1L, 2L));
+
+        // when
+        Map<Long, AuthorView> authors = this.authorCache.getAll(List.of(1L, 2L));
+
+        // then
+        assertThat(authors).containsOnlyKeys(1L);
+        verify(this.userRepository, times(1)).findAuthorsByIdIn(any());
+    }
+}
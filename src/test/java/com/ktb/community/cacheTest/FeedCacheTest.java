@@ -0,0 +1,107 @@
+package com.ktb.community.cacheTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.community.cache.FeedCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("피드 캐시 테스트")
+public class FeedCacheTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FeedCache feedCache = new FeedCache(new ObjectMapper(), meterRegistry, 2, 50, 60_000L, 60_000L);
+
+    private double count(String result) {
+        return this.meterRegistry.get("feed.cache.requests").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("같은 페이지 크기는 두 번째 요청부터 캐시에서 응답한다")
+    void hitAfterFirstLoad() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        byte[] first = this.feedCache.getFirstPage(20, () -> Map.of("load", loads.incrementAndGet()));
+        byte[] second = this.feedCache.getFirstPage(20, () -> Map.of("load", loads.incrementAndGet()));
+
+        // then
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(second).isSameAs(first);
+        assertThat(count("hit")).isEqualTo(1.0);
+        assertThat(count("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("무효화 후에는 다시 조회한다")
+    void reloadAfterInvalidate() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        this.feedCache.getFirstPage(20, () -> Map.of("load", loads.incrementAndGet()));
+
+        // when
+        this.feedCache.invalidate();
+        this.feedCache.getFirstPage(20, () -> Map.of("load", loads.incrementAndGet()));
+
+        // then
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("카운터 변경은 staleness 범위 안에서는 캐시를 무효화하지 않는다")
+    void counterChangeWithinStalenessWindow() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        this.feedCache.getFirstPage(20, () -> Map.of("load", loads.incrementAndGet()));
+
+        // when
+        this.feedCache.countersChangedAfterCommit();
+        this.feedCache.getFirstPage(20, () -> Map.of("load", loads.incrementAndGet()));
+
+        // then
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("max-age가 지난 응답은 카운터 변경 신호가 없어도 다시 조회한다")
+    void reloadAfterMaxAge() {
+        // given
+        FeedCache shortLived = new FeedCache(new ObjectMapper(), new SimpleMeterRegistry(), 2, 50, 60_000L, 0L);
+        AtomicInteger loads = new AtomicInteger();
+        shortLived.getFirstPage(20, () -> Map.of("load", loads.incrementAndGet()));
+
+        // when
+        shortLived.getFirstPage(20, () -> Map.of("load", loads.incrementAndGet()));
+
+        // then
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("최대 엔트리 수를 넘지 않는다")
+    void boundedEntries() {
+        // when
+        this.feedCache.getFirstPage(10, () -> Map.of());
+        this.feedCache.getFirstPage(20, () -> Map.of());
+        this.feedCache.getFirstPage(30, () -> Map.of());
+
+        // then
+        assertThat(this.meterRegistry.get("feed.cache.entries").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("최대 페이지 크기보다 크면 캐시하지 않는다")
+    void bypassLargePage() {
+        // when
+        this.feedCache.getFirstPage(100, () -> Map.of());
+        this.feedCache.getFirstPage(100, () -> Map.of());
+
+        // then
+        assertThat(count("bypass")).isEqualTo(2.0);
+    }
+}
@@ -0,0 +1,102 @@
+package com.ktb.community.cacheTest;
+
+import com.ktb.community.cache.PostDetailCache;
+import com.ktb.community.dto.response.PostDetailResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("게시글 상세 캐시 테스트")
+public class PostDetailCacheTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private static PostDetailResponseDto body(Long postId, String content) {
+        return PostDetailResponseDto.builder()
+                .id(postId)
+                .title("title")
+                .content(content)
+                .author("danny")
+                .images(List.of())
+                .build();
+    }
+
+    @Test
+    @DisplayName("version이 올라가면 본문을 다시 조회한다")
+    void reloadAfterVersionBump() {
+        // given
+        PostDetailCache cache = new PostDetailCache(this.meterRegistry, 1024 * 1024, 100);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(1L, () -> body(1L, "v" + loads.incrementAndGet()));
+        cache.get(1L, () -> body(1L, "v" + loads.incrementAndGet()));
+
+        // when
+        cache.bumpVersionAfterCommit(1L);
+        PostDetailResponseDto reloaded = cache.get(1L, () -> body(1L, "v" + loads.incrementAndGet()));
+
+        // then
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(reloaded.getContent()).isEqualTo("v2");
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 오래된 엔트리부터 내보낸다")
+    void evictByWeight() {
+        // given
+        // 본문 하나가 약 2KB를 차지하도록 설정
+        PostDetailCache cache = new PostDetailCache(this.meterRegistry, 5 * 1024, 100);
+        String content = "a".repeat(1000);
+
+        // when
+        for (long postId = 1; postId <= 5; postId++) {
+            long id = postId;
+            cache.get(id, () -> body(id, content));
+        }
+
+        // then
+        assertThat(this.meterRegistry.get("post.detail.cache.entries").gauge().value()).isEqualTo(2.0);
+        assertThat(this.meterRegistry.get("post.detail.cache.weight.bytes").gauge().value()).isLessThanOrEqualTo(5 * 1024);
+    }
+
+    @Test
+    @DisplayName("내보내졌거나 조회에 실패한 게시글의 version은 남기지 않는다")
+    void dropVersionsOfEvictedPosts() {
+        // given
+        PostDetailCache cache = new PostDetailCache(this.meterRegistry, 1024 * 1024, 2);
+
+        // when
+        for (long postId = 1; postId <= 100; postId++) {
+            long id = postId;
+            cache.get(id, () -> body(id, "content"));
+        }
+        assertThatThrownBy(() -> cache.get(1000L, () -> {
+            throw new IllegalStateException("not found");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // then
+        assertThat(this.meterRegistry.get("post.detail.cache.versions").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("조회하는 동안 무효화된 본문은 캐시에 넣지 않는다")
+    void skipBodyInvalidatedDuringLoad() {
+        // given
+        PostDetailCache cache = new PostDetailCache(this.meterRegistry, 1024 * 1024, 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        cache.get(1L, () -> {
+            cache.bumpVersionAfterCommit(1L);
+            return body(1L, "v" + loads.incrementAndGet());
+        });
+        PostDetailResponseDto reloaded = cache.get(1L, () -> body(1L, "v" + loads.incrementAndGet()));
+
+        // then
+        assertThat(reloaded.getContent()).isEqualTo("v2");
+    }
+}
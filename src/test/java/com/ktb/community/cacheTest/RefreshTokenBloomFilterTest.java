@@ -0,0 +1,141 @@
+package com.ktb.community.cacheTest;
+
+import com.ktb.community.cache.RefreshTokenBloomFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("refresh token Bloom filter 테스트")
+public class RefreshTokenBloomFilterTest {
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+    private final RefreshTokenBloomFilter filter =
+            new RefreshTokenBloomFilter(this.jdbcTemplate, new SimpleMeterRegistry(), 1000, 0.01);
+
+    // 마지막 재구성보다 충분히 먼저 발급된 토큰으로 확인
+    private boolean mightContain(String token) {
+        return this.filter.mightContain(token, LocalDateTime.now().minusDays(1));
+    }
+
+    private void givenStoredTokens(List<String> tokens) throws Exception {
+        when(this.jdbcTemplate.queryForObject(anyString(), eq(Long.class), any())).thenReturn((long) tokens.size());
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (String token : tokens) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString(1)).thenReturn(token);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(this.jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any());
+    }
+
+    @Test
+    @DisplayName("구성 전에는 모든 토큰을 DB에서 확인하도록 통과시킨다")
+    void passEverythingBeforeBuild() {
+        assertThat(mightContain("anything")).isTrue();
+    }
+
+    @Test
+    @DisplayName("저장된 토큰은 항상 통과하고, 모르는 토큰은 대부분 거절한다")
+    void rejectUnknownTokens() throws Exception {
+        // given
+        List<String> stored = IntStream.range(0, 500).mapToObj(i -> "stored-token-" + i).toList();
+        givenStoredTokens(stored);
+
+        // when
+        this.filter.rebuild();
+        this.filter.addAfterCommit("issued-after-rebuild");
+
+        // then
+        assertThat(stored).allMatch(this::mightContain);
+        assertThat(mightContain("issued-after-rebuild")).isTrue();
+        long forgedPassed = IntStream.range(0, 1000)
+                .mapToObj(i -> "forged-token-" + i)
+                .filter(this::mightContain)
+                .count();
+        assertThat(forgedPassed).isLessThan(50);
+    }
+
+    @Test
+    @DisplayName("재구성과 토큰 추가가 동시에 일어나도 커밋된 토큰은 거절하지 않는다")
+    void keepTokensAddedDuringRebuild() throws Exception {
+        // given
+        // 재구성 조회는 그 시점까지 커밋된 토큰을 읽음
+        Set<String> committed = ConcurrentHashMap.newKeySet();
+        when(this.jdbcTemplate.queryForObject(anyString(), eq(Long.class), any())).thenAnswer(invocation -> (long) committed.size());
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            Iterator<String> rows = List.copyOf(committed).iterator();
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString(1)).thenAnswer(row -> rows.next());
+            while (rows.hasNext()) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(this.jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any());
+        this.filter.rebuild();
+
+        // when
+        AtomicBoolean issuing = new AtomicBoolean(true);
+        Thread rebuilder = new Thread(() -> {
+            while (issuing.get()) {
+                this.filter.rebuild();
+            }
+        });
+        rebuilder.start();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            int thread = i;
+            executor.execute(() -> {
+                for (int j = 0; j < 2_000; j++) {
+                    String token = "token-" + thread + "-" + j;
+                    committed.add(token);
+                    this.filter.addAfterCommit(token);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+        issuing.set(false);
+        rebuilder.join();
+
+        // then
+        assertThat(committed).hasSize(8_000).allMatch(this::mightContain);
+    }
+
+    @Test
+    @DisplayName("filter에 없어도 마지막 재구성 이후에 발급된 토큰은 다른 노드에서 발급되었을 수 있으므로 DB에서 확인하도록 통과시킨다")
+    void passUnknownTokensIssuedAfterRebuild() throws Exception {
+        // given
+        givenStoredTokens(List.of("stored-token"));
+        this.filter.rebuild();
+
+        // when & then
+        assertThat(this.filter.mightContain("issued-on-another-node", LocalDateTime.now())).isTrue();
+        assertThat(this.filter.mightContain("issued-on-another-node", null)).isTrue();
+        assertThat(mightContain("stored-token")).isTrue();
+    }
+}
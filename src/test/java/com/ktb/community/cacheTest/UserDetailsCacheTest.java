@@ -0,0 +1,90 @@
+package com.ktb.community.cacheTest;
+
+import com.ktb.community.cache.UserDetailsCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("인증 유저 캐시 테스트")
+public class UserDetailsCacheTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private static UserDetails load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new User("danny@test.com", "encodedPassword", List.of());
+    }
+
+    @Test
+    @DisplayName("TTL 안에서는 DB를 다시 조회하지 않고, 무효화되면 다시 조회한다")
+    void reloadOnlyAfterInvalidation() {
+        // given
+        UserDetailsCache cache = new UserDetailsCache(this.meterRegistry, 60_000L, 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        cache.get("danny@test.com", () -> load(loads));
+        UserDetails cached = cache.get("danny@test.com", () -> load(loads));
+        cache.invalidateAfterCommit("danny@test.com");
+        cache.get("danny@test.com", () -> load(loads));
+
+        // then
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cached.getPassword()).isNull();
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘지 않는다")
+    void boundedByMaxEntries() {
+        // given
+        UserDetailsCache cache = new UserDetailsCache(this.meterRegistry, 60_000L, 10);
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            String email = "user" + i + "@test.com";
+            cache.get(email, () -> new User(email, "encodedPassword", List.of()));
+        }
+
+        // then
+        assertThat(this.meterRegistry.get("auth.user.cache.entries").gauge().value()).isLessThanOrEqualTo(10.0);
+    }
+
+    @Test
+    @DisplayName("가득 차면 가장 오래전에 넣은 엔트리부터 지운다")
+    void evictOldestFirst() {
+        // given
+        UserDetailsCache cache = new UserDetailsCache(this.meterRegistry, 60_000L, 2);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("first@test.com", () -> load(loads));
+        cache.get("second@test.com", () -> load(loads));
+
+        // when
+        cache.get("third@test.com", () -> load(loads));
+        cache.get("second@test.com", () -> load(loads));
+        cache.get("first@test.com", () -> load(loads));
+
+        // then
+        assertThat(loads.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("만료된 엔트리는 다시 조회되지 않아도 sweep에서 정리된다")
+    void sweepExpiredEntries() {
+        // given
+        UserDetailsCache cache = new UserDetailsCache(this.meterRegistry, 0L, 10);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("danny@test.com", () -> load(loads));
+
+        // when
+        cache.sweep();
+
+        // then
+        assertThat(this.meterRegistry.get("auth.user.cache.entries").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,179 @@
+package com.ktb.community.commentTest;
+
+import com.ktb.community.dto.request.CreateCommentRequestDto;
+import com.ktb.community.dto.response.CommentResponseDto;
+import com.ktb.community.dto.response.CursorCommentResponseDto;
+import com.ktb.community.entity.Count;
+import com.ktb.community.entity.Post;
+import com.ktb.community.entity.User;
+import com.ktb.community.exception.custom.CommentNotFoundException;
+import com.ktb.community.metricsTest.QueryBudget;
+import com.ktb.community.repository.CommentRepository;
+import com.ktb.community.repository.CountRepository;
+import com.ktb.community.repository.PostRepository;
+import com.ktb.community.repository.UserRepository;
+import com.ktb.community.service.CommentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("답글 테스트")
+public class CommentReplyTest {
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CountRepository countRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User author;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        // 테스트끼리 같은 DB를 쓰므로 매번 다른 이메일로 생성
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        this.transactionTemplate.executeWithoutResult(status -> {
+            User user = new User();
+            user.setEmail(name + "@test.com");
+            user.setPassword("password");
+            user.setNickname(name);
+            this.author = this.userRepository.save(user);
+
+            Post saved = new Post();
+            saved.setTitle("title");
+            saved.setContent("content");
+            saved.setUser(this.author);
+            this.post = this.postRepository.save(saved);
+
+            Count count = new Count();
+            count.setPost(this.post);
+            count.setLikeCount(0L);
+            count.setViewCount(0L);
+            count.setCommentCount(0L);
+            this.countRepository.save(count);
+        });
+    }
+
+    private Long write(String content, Long parentId) {
+        CreateCommentRequestDto request = CreateCommentRequestDto.builder().content(content).parentId(parentId).build();
+        return this.commentService.writeComment(this.post.getId(), this.author.getId(), request).getCommentId();
+    }
+
+    private static List<String> contents(List<CommentResponseDto> comments) {
+        return comments.stream().map(CommentResponseDto::getContent).toList();
+    }
+
+    @Test
+    @DisplayName("댓글 목록은 최상위 댓글마다 트리 순서의 앞쪽 답글을 함께 반환하고, 쿼리 수는 댓글 수와 관계없다")
+    void listTopLevelCommentsWithReplyPreview() {
+        // given
+        Long a = write("a", null);
+        Long a1 = write("a1", a);
+        write("a11", a1);
+        write("a2", a);
+        write("a3", a);
+        write("a4", a);
+        write("b", null);
+        Long c = write("c", null);
+        write("c1", c);
+
+        // when
+        CursorCommentResponseDto<CommentResponseDto> page = QueryBudget.assertAtMost(2,
+                () -> this.commentService.getCommentList(this.post.getId(), null, 10, this.author.getId()));
+
+        // then: 최신 최상위 댓글부터, 답글은 preview-size(3)개까지 깊이 우선 순서로
+        assertThat(contents(page.getComments())).containsExactly("c", "b", "a");
+        CommentResponseDto first = page.getComments().get(2);
+        assertThat(first.getReplyCount()).isEqualTo(5);
+        assertThat(contents(first.getReplies())).containsExactly("a1", "a11", "a2");
+        assertThat(first.getReplies()).extracting(CommentResponseDto::getDepth).containsExactly(1, 2, 1);
+        assertThat(first.getReplies().get(1).getParentId()).isEqualTo(a1);
+        assertThat(page.getComments().get(1).getReplies()).isEmpty();
+        assertThat(contents(page.getComments().get(0).getReplies())).containsExactly("c1");
+    }
+
+    @Test
+    @DisplayName("스레드는 path 기준 keyset으로 끝까지 펼칠 수 있고, 답글 id를 넘기면 그 하위 답글만 반환한다")
+    void expandThreadWithKeysetPagination() {
+        // given
+        Long a = write("a", null);
+        Long a1 = write("a1", a);
+        write("a11", a1);
+        write("a2", a);
+        write("a3", a);
+
+        // when
+        CursorCommentResponseDto<CommentResponseDto> first = this.commentService.getReplies(a, null, 2, this.author.getId());
+        CursorCommentResponseDto<CommentResponseDto> second = this.commentService.getReplies(a, first.getNextCursor(), 2, this.author.getId());
+        CursorCommentResponseDto<CommentResponseDto> subtree = this.commentService.getReplies(a1, null, 10, this.author.getId());
+
+        // then
+        assertThat(contents(first.getComments())).containsExactly("a1", "a11");
+        assertThat(first.getHasNext()).isTrue();
+        assertThat(contents(second.getComments())).containsExactly("a2", "a3");
+        assertThat(second.getHasNext()).isFalse();
+        assertThat(contents(subtree.getComments())).containsExactly("a11");
+    }
+
+    @Test
+    @DisplayName("답글을 삭제하면 하위 답글도 함께 삭제되고 최상위 댓글의 답글 수가 줄어든다")
+    void removeReplySubtree() {
+        // given
+        Long a = write("a", null);
+        Long a1 = write("a1", a);
+        write("a11", a1);
+        write("a2", a);
+
+        // when
+        this.commentService.removeComment(a1, this.author.getId());
+
+        // then
+        CursorCommentResponseDto<CommentResponseDto> page = this.commentService.getCommentList(this.post.getId(), null, 10, this.author.getId());
+        assertThat(page.getComments().getFirst().getReplyCount()).isEqualTo(1);
+        assertThat(contents(page.getComments().getFirst().getReplies())).containsExactly("a2");
+        assertThat(this.commentRepository.findById(a1).orElseThrow().getDeletedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("다른 게시글의 댓글에는 답글을 달 수 없다")
+    void rejectReplyToCommentOfAnotherPost() {
+        // given
+        Long a = write("a", null);
+        Post other = this.transactionTemplate.execute(status -> {
+            Post saved = new Post();
+            saved.setTitle("other");
+            saved.setContent("content");
+            saved.setUser(this.author);
+            return this.postRepository.save(saved);
+        });
+        CreateCommentRequestDto request = CreateCommentRequestDto.builder().content("x").parentId(a).build();
+
+        // when & then
+        assertThatThrownBy(() -> this.commentService.writeComment(other.getId(), this.author.getId(), request))
+                .isInstanceOf(CommentNotFoundException.class);
+    }
+}
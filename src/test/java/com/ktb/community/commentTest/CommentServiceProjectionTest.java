@@ -0,0 +1,105 @@
+package com.ktb.community.commentTest;
+
+import com.ktb.community.cache.AuthorCache;
+import com.ktb.community.cache.FeedCache;
+import com.ktb.community.counter.CountWriteBehind;
+import com.ktb.community.dto.response.CommentResponseDto;
+import com.ktb.community.dto.response.CursorCommentResponseDto;
+import com.ktb.community.entity.Comment;
+import com.ktb.community.entity.Post;
+import com.ktb.community.entity.User;
+import com.ktb.community.repository.CommentReplyReader;
+import com.ktb.community.service.CommentService;
+import com.ktb.community.trending.TrendingRanker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CommentService.class, CommentReplyReader.class, AuthorCache.class, SimpleMeterRegistry.class})
+@DisplayName("댓글 목록 프로젝션 테스트")
+public class CommentServiceProjectionTest {
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private CountWriteBehind countWriteBehind;
+
+    @MockitoBean
+    private FeedCache feedCache;
+
+    @MockitoBean
+    private TrendingRanker trendingRanker;
+
+    @Test
+    @DisplayName("댓글 목록은 한 번의 쿼리로 조회하고 엔티티를 영속성 컨텍스트에 올리지 않는다")
+    void commentListUsesProjection() {
+        // given
+        User me = new User();
+        me.setEmail("me@test.com");
+        me.setPassword("password");
+        me.setNickname("me");
+        this.testEntityManager.persist(me);
+
+        User other = new User();
+        other.setEmail("other@test.com");
+        other.setPassword("password");
+        other.setNickname("other");
+        this.testEntityManager.persist(other);
+
+        Post post = new Post();
+        post.setTitle("title");
+        post.setContent("content");
+        post.setUser(me);
+        this.testEntityManager.persist(post);
+
+        for (int i = 0; i < 10; i++) {
+            Comment comment = new Comment();
+            comment.setContent("comment" + i);
+            comment.setPost(post);
+            comment.setUser(i % 2 == 0 ? me : other);
+            this.testEntityManager.persist(comment);
+        }
+        this.testEntityManager.flush();
+        this.testEntityManager.clear();
+
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        CursorCommentResponseDto<CommentResponseDto> page = this.commentService.getCommentList(post.getId(), null, 5, me.getId());
+
+        // then
+        assertThat(page.getComments()).hasSize(5);
+        assertThat(page.getComments()).extracting(CommentResponseDto::getAuthor).containsOnly("me", "other");
+        assertThat(page.getComments()).filteredOn(CommentResponseDto::isMine).extracting(CommentResponseDto::getAuthor).containsOnly("me");
+        // 댓글 목록 1번 + 캐시에 없는 작성자 IN 조회 1번
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        // 작성자가 캐시된 뒤에는 댓글 목록 쿼리 한 번만 실행
+        statistics.clear();
+        this.commentService.getCommentList(post.getId(), null, 5, me.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
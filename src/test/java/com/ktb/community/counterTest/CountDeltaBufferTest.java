@@ -0,0 +1,98 @@
+package com.ktb.community.counterTest;
+
+import com.ktb.community.counter.CountDeltaBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("카운터 증감 버퍼 테스트")
+public class CountDeltaBufferTest {
+
+    @Test
+    @DisplayName("여러 스레드가 같은 게시글을 동시에 증가시켜도 증가분이 유실되지 않는다")
+    void concurrentAdd() throws InterruptedException {
+        // given
+        CountDeltaBuffer buffer = new CountDeltaBuffer();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    buffer.add(1L, 1L);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(buffer.pending(1L)).isEqualTo(80_000L);
+        assertThat(buffer.drain()).containsExactly(Map.entry(1L, 80_000L));
+        assertThat(buffer.pendingTotal()).isZero();
+    }
+
+    @Test
+    @DisplayName("drain이 게시글을 버퍼에서 제거하는 동안 들어온 증가분도 유실되지 않는다")
+    void concurrentAddAndDrain() throws InterruptedException {
+        // given
+        CountDeltaBuffer buffer = new CountDeltaBuffer();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicBoolean adding = new AtomicBoolean(true);
+        AtomicLong drainedTotal = new AtomicLong();
+
+        // when
+        // 여러 게시글에 조금씩 나눠서 증가시켜, drain이 0이 된 게시글을 제거하는 경우가 자주 생기게 함
+        Thread drainer = new Thread(() -> {
+            while (adding.get()) {
+                buffer.drain().values().forEach(drainedTotal::addAndGet);
+            }
+        });
+        drainer.start();
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 100_000; j++) {
+                    buffer.add((long) (j % 16), 1L);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+        adding.set(false);
+        drainer.join();
+        buffer.drain().values().forEach(drainedTotal::addAndGet);
+
+        // then
+        assertThat(drainedTotal.get()).isEqualTo(800_000L);
+        assertThat(buffer.pendingTotal()).isZero();
+    }
+
+    @Test
+    @DisplayName("drain은 0인 게시글을 반환하지 않고, 꺼낸 게시글을 버퍼에서 제거한다")
+    void drainSkipsZero() {
+        // given
+        CountDeltaBuffer buffer = new CountDeltaBuffer();
+        buffer.add(1L, 3L);
+        buffer.add(2L, 1L);
+        buffer.add(2L, -1L);
+
+        // when
+        Map<Long, Long> drained = buffer.drain();
+
+        // then
+        assertThat(drained).containsExactly(Map.entry(1L, 3L));
+        // flush할 게시글은 모두 버퍼에서 빠져서, 한도 검사는 새로 쌓인 게시글만 셈
+        assertThat(buffer.size()).isZero();
+        buffer.add(1L, 1L);
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(buffer.drain()).containsExactly(Map.entry(1L, 1L));
+    }
+}
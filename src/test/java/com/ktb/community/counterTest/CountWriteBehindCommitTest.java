@@ -0,0 +1,70 @@
+package com.ktb.community.counterTest;
+
+import com.ktb.community.counter.CountColumn;
+import com.ktb.community.counter.CountWriteBehind;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "count.write-behind.max-pending-posts=1"
+})
+@ActiveProfiles("test")
+@DisplayName("커밋 이후 카운터 반영 테스트")
+public class CountWriteBehindCommitTest {
+    @Autowired
+    private CountWriteBehind countWriteBehind;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private List<Long> createPosts(int count) {
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        this.jdbcTemplate.update("insert into user (email, password, nickname, created_at) values (?, ?, ?, ?)",
+                name + "@test.com", "password", name, now);
+        Long userId = this.jdbcTemplate.queryForObject("select user_id from user where email = ?", Long.class, name + "@test.com");
+        List<Long> postIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            this.jdbcTemplate.update("insert into post (user_id, title, content, created_at) values (?, ?, ?, ?)", userId, name, "content", now);
+        }
+        postIds.addAll(this.jdbcTemplate.queryForList("select post_id from post where user_id = ? order by post_id", Long.class, userId));
+        postIds.forEach(postId -> this.jdbcTemplate.update(
+                "insert into count (post_id, like_count, view_count, comment_count) values (?, 0, 0, 0)", postId));
+        return postIds;
+    }
+
+    @Test
+    @DisplayName("커밋 이후 콜백에서 버퍼가 넘쳐 바로 flush해도 댓글 수가 유실되지 않는다")
+    void keepCommentDeltasFlushedFromAfterCommit() {
+        // given
+        List<Long> postIds = createPosts(20);
+
+        // when
+        // 버퍼 한도(1)의 2배를 넘기므로 커밋 이후 콜백 안에서 동기 flush가 일어남
+        this.transactionTemplate.executeWithoutResult(status ->
+                postIds.forEach(postId -> this.countWriteBehind.addAfterCommit(CountColumn.COMMENT, postId, 1L)));
+        this.countWriteBehind.flushOnShutdown();
+
+        // then
+        for (Long postId : postIds) {
+            assertThat(this.jdbcTemplate.queryForObject("select comment_count from count where post_id = ?", Long.class, postId))
+                    .isEqualTo(1L);
+        }
+    }
+}
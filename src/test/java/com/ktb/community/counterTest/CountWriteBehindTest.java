@@ -0,0 +1,45 @@
+package com.ktb.community.counterTest;
+
+import com.ktb.community.cache.FeedCache;
+import com.ktb.community.counter.CountColumn;
+import com.ktb.community.counter.CountWriteBehind;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("카운터 write-behind 테스트")
+public class CountWriteBehindTest {
+
+    @Test
+    @DisplayName("즉시 flush 요청이 executor에서 거절되어도 증감은 버퍼에 남고, 다음 요청이 다시 flush를 요청한다")
+    void retryFlushRequestAfterRejection() {
+        // given
+        Executor executor = mock(Executor.class);
+        doThrow(new RejectedExecutionException("saturated")).when(executor).execute(any());
+        CountWriteBehind writeBehind = new CountWriteBehind(mock(JdbcTemplate.class), mock(PlatformTransactionManager.class), mock(FeedCache.class),
+                new SimpleMeterRegistry(), executor, 2, 500);
+
+        // when
+        writeBehind.add(CountColumn.VIEW, 1L, 1L);
+        writeBehind.add(CountColumn.VIEW, 2L, 1L);
+        writeBehind.add(CountColumn.VIEW, 3L, 1L);
+        writeBehind.add(CountColumn.VIEW, 1L, 1L);
+
+        // then
+        verify(executor, times(2)).execute(any());
+        assertThat(writeBehind.pending(CountColumn.VIEW, 1L)).isEqualTo(2L);
+        assertThat(writeBehind.pending(CountColumn.VIEW, 3L)).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ktb.community.diagnosticsTest;
+
+import com.ktb.community.diagnostics.StackTraceThrottle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("stack trace 기록 제한 테스트")
+public class StackTraceThrottleTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StackTraceThrottle throttle = new StackTraceThrottle(this.meterRegistry, 60_000L, 2);
+    private final Logger log = mock(Logger.class);
+
+    @Test
+    @DisplayName("같은 위치의 같은 예외는 주기마다 한 번만 stack trace를 남기고, 다음 기록에 생략된 횟수를 붙인다")
+    void throttleRepeatedStackTraces() {
+        // given
+        IllegalStateException e = new IllegalStateException("db down");
+
+        // when & then
+        assertThat(this.throttle.error(this.log, "[DataAccessException]", e, 0L)).isTrue();
+        assertThat(this.throttle.error(this.log, "[DataAccessException]", e, 1_000L)).isFalse();
+        assertThat(this.throttle.error(this.log, "[DataAccessException]", e, 59_999L)).isFalse();
+        assertThat(this.throttle.error(this.log, "[DataAccessException]", e, 60_000L)).isTrue();
+
+        verify(this.log).error("[DataAccessException]", e);
+        verify(this.log, times(2)).error("{}: {}", "[DataAccessException]", e.toString());
+        verify(this.log).error(anyString(), eq("[DataAccessException]"), eq(2L), eq(e));
+        assertThat(this.meterRegistry.counter("log.stacktrace.suppressed").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("다른 위치에서 발생한 예외는 따로 제한하고, 추적하는 예외 종류 수를 넘으면 stack trace 없이 기록한다")
+    void trackDifferentFramesSeparately() {
+        // given
+        RuntimeException first = newException(1);
+        RuntimeException second = newException(2);
+        RuntimeException third = newException(3);
+
+        // when & then
+        assertThat(this.throttle.error(this.log, "[Unexpected Exception]", first, 0L)).isTrue();
+        assertThat(this.throttle.error(this.log, "[Unexpected Exception]", second, 0L)).isTrue();
+        assertThat(this.throttle.error(this.log, "[Unexpected Exception]", third, 0L)).isFalse();
+        verify(this.log, times(2)).error(eq("[Unexpected Exception]"), any(Throwable.class));
+    }
+
+    private static RuntimeException newException(int line) {
+        RuntimeException e = new RuntimeException("boom");
+        e.setStackTrace(new StackTraceElement[]{new StackTraceElement("com.ktb.community.Sample", "run", "Sample.java", line)});
+        return e;
+    }
+}
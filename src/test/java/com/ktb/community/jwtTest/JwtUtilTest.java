@@ -0,0 +1,43 @@
+package com.ktb.community.jwtTest;
+
+import com.ktb.community.jwt.JwtPrincipal;
+import com.ktb.community.jwt.JwtUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JWT 검증 테스트")
+public class JwtUtilTest {
+    private static final String SECRET = "dGVzdC1zZWNyZXQta2V5LWZvci1jb21tdW5pdHktdGVzdHMtMzItYnl0ZXMtbG9uZw==";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000L, 120_000L, null, null);
+
+    @Test
+    @DisplayName("한 번의 검증으로 userId, email, 만료 시간을 모두 꺼낸다")
+    void parseAndVerify() {
+        // given
+        String token = this.jwtUtil.generateAccessToken(7L, "danny@test.com");
+
+        // when
+        JwtPrincipal principal = this.jwtUtil.parseAndVerify(token);
+
+        // then
+        assertThat(principal.userId()).isEqualTo(7L);
+        assertThat(principal.email()).isEqualTo("danny@test.com");
+        assertThat(principal.getName()).isEqualTo("danny@test.com");
+        assertThat(principal.expiresAt()).isEqualTo(this.jwtUtil.getExpirationFromToken(token));
+    }
+
+    @Test
+    @DisplayName("서명이 변조된 토큰은 null을 반환한다")
+    void rejectTamperedToken() {
+        // given
+        String token = this.jwtUtil.generateAccessToken(7L, "danny@test.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // when & then
+        assertThat(this.jwtUtil.parseAndVerify(tampered)).isNull();
+        assertThat(this.jwtUtil.parseAndVerify("not.a.token")).isNull();
+    }
+}
@@ -0,0 +1,160 @@
+package com.ktb.community.likeTest;
+
+import com.ktb.community.counter.LikeCounter;
+import com.ktb.community.entity.Count;
+import com.ktb.community.entity.Post;
+import com.ktb.community.entity.User;
+import com.ktb.community.repository.CountRepository;
+import com.ktb.community.repository.PostRepository;
+import com.ktb.community.repository.UserRepository;
+import com.ktb.community.repository.projection.PostCountView;
+import com.ktb.community.service.LikeService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("좋아요 동시성 테스트")
+public class LikeConcurrencyTest {
+    private static final int USERS = 1000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private LikeCounter likeCounter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CountRepository countRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Post createPost(User author) {
+        return this.transactionTemplate.execute(status -> {
+            Post post = new Post();
+            post.setTitle("popular");
+            post.setContent("content");
+            post.setUser(author);
+            Post savedPost = this.postRepository.save(post);
+
+            Count count = new Count();
+            count.setPost(savedPost);
+            count.setLikeCount(0L);
+            count.setViewCount(0L);
+            count.setCommentCount(0L);
+            this.countRepository.save(count);
+            return savedPost;
+        });
+    }
+
+    private List<User> createUsers(String prefix) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setEmail(prefix + i + "@test.com");
+            user.setPassword("password");
+            user.setNickname(prefix + i);
+            users.add(user);
+        }
+        return this.userRepository.saveAll(users);
+    }
+
+    // 모든 작업을 THREADS개의 스레드로 동시에 실행하고 걸린 시간(ns)을 반환
+    private <T> long runConcurrently(List<T> inputs, Consumer<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (T input : inputs) {
+                futures.add(executor.submit(() -> task.accept(input)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("한 게시글에 1000명이 동시에 좋아요를 눌러도 정확히 1000이 된다")
+    void concurrentLikesAreExact() throws Exception {
+        // given
+        List<User> users = createUsers("liker");
+        Post post = createPost(users.getFirst());
+        this.likeCounter.createShards(post.getId());
+        List<Long> userIds = users.stream().map(User::getId).toList();
+
+        // when
+        runConcurrently(userIds, userId -> this.likeService.likePost(post.getId(), userId));
+
+        // then
+        PostCountView beforeRollup = this.countRepository.findCountViewByPostId(post.getId()).orElseThrow();
+        assertThat(beforeRollup.likeCount()).isEqualTo((long) USERS);
+
+        this.likeCounter.rollup();
+        PostCountView afterRollup = this.countRepository.findCountViewByPostId(post.getId()).orElseThrow();
+        Count count = this.countRepository.findById(post.getId()).orElseThrow();
+        assertThat(afterRollup.likeCount()).isEqualTo((long) USERS);
+        assertThat(count.getLikeCount()).isEqualTo((long) USERS);
+    }
+
+    @Test
+    @DisplayName("slot으로 나눈 카운터와 한 행을 잠그고 읽고 쓰는 방식의 처리량 비교")
+    void shardedCounterThroughput() throws Exception {
+        // given
+        List<User> users = createUsers("bench");
+        Post legacyPost = createPost(users.getFirst());
+        Post shardedPost = createPost(users.getFirst());
+        this.likeCounter.createShards(shardedPost.getId());
+
+        // when
+        // 기존 방식 : count 한 행을 잠그고 읽은 뒤 +1 (락 없이 하면 lost update 발생)
+        long legacyNanos = runConcurrently(users, user -> this.transactionTemplate.executeWithoutResult(status -> {
+            Count count = this.entityManager.find(Count.class, legacyPost.getId(), LockModeType.PESSIMISTIC_WRITE);
+            count.setLikeCount(count.getLikeCount() + 1);
+        }));
+        long shardedNanos = runConcurrently(users, user -> this.transactionTemplate.executeWithoutResult(status ->
+                this.likeCounter.add(shardedPost.getId(), user.getId(), 1L)));
+
+        // then
+        double legacyPerSecond = USERS / (legacyNanos / 1_000_000_000.0);
+        double shardedPerSecond = USERS / (shardedNanos / 1_000_000_000.0);
+        log.info("like counter throughput : legacy={} ops/s, sharded={} ops/s ({}x)",
+                String.format("%.0f", legacyPerSecond), String.format("%.0f", shardedPerSecond),
+                String.format("%.1f", shardedPerSecond / legacyPerSecond));
+
+        assertThat(this.countRepository.findById(legacyPost.getId()).orElseThrow().getLikeCount()).isEqualTo((long) USERS);
+        assertThat(this.countRepository.findCountViewByPostId(shardedPost.getId()).orElseThrow().likeCount()).isEqualTo((long) USERS);
+    }
+}
@@ -0,0 +1,151 @@
+package com.ktb.community.maintenanceTest;
+
+import com.ktb.community.entity.Comment;
+import com.ktb.community.entity.Image;
+import com.ktb.community.entity.Post;
+import com.ktb.community.entity.User;
+import com.ktb.community.maintenance.PostCascadeDeleter;
+import com.ktb.community.repository.CommentRepository;
+import com.ktb.community.repository.ImageRepository;
+import com.ktb.community.repository.PostRepository;
+import com.ktb.community.repository.UserRepository;
+import com.ktb.community.service.PostService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "post.cascade-delete.async=false",
+        "post.cascade-delete.chunk-size=7"
+})
+@ActiveProfiles("test")
+@DisplayName("게시글 연관 데이터 일괄 soft delete 테스트")
+public class PostCascadeDeleterTest {
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostCascadeDeleter postCascadeDeleter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User createUser() {
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setEmail(name + "@test.com");
+        user.setPassword("password");
+        user.setNickname(name);
+        return this.userRepository.save(user);
+    }
+
+    // 댓글 30개(그중 3개는 이미 삭제), 이미지 10개를 가진 게시글
+    private Post createPost(User author) {
+        Post post = new Post();
+        post.setTitle("title");
+        post.setContent("content");
+        post.setUser(author);
+        Post saved = this.postRepository.save(post);
+
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Comment comment = new Comment();
+            comment.setPost(saved);
+            comment.setUser(author);
+            comment.setContent("comment" + i);
+            comment.setDeletedAt(i < 3 ? LocalDateTime.now().minusDays(1) : null);
+            comments.add(comment);
+        }
+        this.commentRepository.saveAll(comments);
+
+        List<Image> images = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Image image = new Image();
+            image.setPost(saved);
+            image.setDisplayOrder(i);
+            image.setUrl("https://image.test/" + i);
+            images.add(image);
+        }
+        this.imageRepository.saveAll(images);
+        return saved;
+    }
+
+    private int live(String table, Long postId) {
+        return this.jdbcTemplate.queryForObject(
+                "select count(*) from " + table + " where post_id = ? and deleted_at is null", Integer.class, postId);
+    }
+
+    @Test
+    @DisplayName("게시글을 삭제하면 댓글과 이미지를 여러 chunk에 걸쳐 모두 soft delete 한다")
+    void removePostCascades() {
+        // given
+        User author = createUser();
+        Post post = createPost(author);
+
+        // when
+        this.postService.removePost(post.getId(), author.getId());
+
+        // then
+        assertThat(live("comment", post.getId())).isZero();
+        assertThat(live("image", post.getId())).isZero();
+        // 이미 삭제되어 있던 댓글의 삭제 시각은 바꾸지 않음
+        Integer keptDeletedAt = this.jdbcTemplate.queryForObject(
+                "select count(*) from comment where post_id = ? and deleted_at < ?", Integer.class,
+                post.getId(), LocalDateTime.now().minusHours(1));
+        assertThat(keptDeletedAt).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("정리가 끝나지 않은 삭제된 게시글은 sweep이 마저 처리한다")
+    void sweepFinishesInterruptedCascade() {
+        // given
+        // 게시글만 삭제되고 연관 데이터 정리는 중간에 멈춘 상황
+        User author = createUser();
+        Post post = createPost(author);
+        this.jdbcTemplate.update("update post set deleted_at = ? where post_id = ?", LocalDateTime.now(), post.getId());
+
+        // when
+        this.postCascadeDeleter.sweep();
+
+        // then
+        assertThat(live("comment", post.getId())).isZero();
+        assertThat(live("image", post.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("sweep은 window보다 오래전에 삭제된 게시글은 확인하지 않는다")
+    void sweepSkipsPostsDeletedBeforeWindow() {
+        // given
+        User author = createUser();
+        Post post = createPost(author);
+        this.jdbcTemplate.update("update post set deleted_at = ? where post_id = ?", LocalDateTime.now().minusDays(30), post.getId());
+
+        // when
+        this.postCascadeDeleter.sweep();
+
+        // then
+        assertThat(live("comment", post.getId())).isPositive();
+    }
+}
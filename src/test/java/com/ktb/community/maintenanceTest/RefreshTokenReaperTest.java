@@ -0,0 +1,65 @@
+package com.ktb.community.maintenanceTest;
+
+import com.ktb.community.entity.Refresh;
+import com.ktb.community.entity.User;
+import com.ktb.community.maintenance.RefreshTokenReaper;
+import com.ktb.community.repository.RefreshRepository;
+import com.ktb.community.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "auth.refresh-reaper.chunk-size=7",
+        "auth.refresh-reaper.pause-ms=0"
+})
+@ActiveProfiles("test")
+@DisplayName("만료 refresh token 삭제 테스트")
+public class RefreshTokenReaperTest {
+    @Autowired
+    private RefreshTokenReaper refreshTokenReaper;
+
+    @Autowired
+    private RefreshRepository refreshRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("만료된 토큰만 여러 chunk에 걸쳐 모두 삭제한다")
+    void reapOnlyExpiredTokens() {
+        // given
+        User user = new User();
+        user.setEmail("reaper@test.com");
+        user.setPassword("password");
+        user.setNickname("reaper");
+        this.userRepository.save(user);
+
+        List<Refresh> tokens = new ArrayList<>();
+        for (int i = 0; i < 35; i++) {
+            Refresh refresh = new Refresh();
+            refresh.setUser(user);
+            refresh.setRefreshToken("reaper-token-" + i);
+            // 30개는 이미 만료, 5개는 아직 유효
+            refresh.setExpirationAt(i < 30 ? LocalDateTime.now().minusDays(1) : LocalDateTime.now().plusDays(1));
+            tokens.add(refresh);
+        }
+        this.refreshRepository.saveAll(tokens);
+
+        // when
+        long reaped = this.refreshTokenReaper.reap();
+
+        // then
+        assertThat(reaped).isEqualTo(30L);
+        assertThat(this.refreshRepository.findByUserId(user.getId())).hasSize(5)
+                .allMatch(refresh -> refresh.getExpirationAt().isAfter(LocalDateTime.now()));
+    }
+}
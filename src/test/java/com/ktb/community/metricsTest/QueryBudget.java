@@ -0,0 +1,24 @@
+package com.ktb.community.metricsTest;
+
+import com.ktb.community.metrics.QueryStats;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 서비스 메서드 하나가 실행하는 SQL 수에 상한을 거는 테스트 도우미
+// N+1이 다시 생기면 반복된 SQL 모양과 함께 실패 메시지를 보여줌
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static <T> T assertAtMost(int maxStatements, Supplier<T> action) {
+        QueryStats.Measured<T> measured = QueryStats.measure(action);
+        QueryStats stats = measured.stats();
+        assertThat(stats.getStatements())
+                .as("SQL statements (repeated shapes: %s)", stats.repeatedShapes(1))
+                .isLessThanOrEqualTo(maxStatements);
+        return measured.result();
+    }
+}
@@ -0,0 +1,95 @@
+package com.ktb.community.metricsTest;
+
+import com.ktb.community.metrics.QueryStats;
+import com.ktb.community.metrics.QueryStatsListener;
+import com.ktb.community.metrics.RequestMetricsFilter;
+import com.ktb.community.metrics.SqlShape;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("요청별 SQL 프로파일링 테스트")
+public class RequestMetricsFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryStatsListener listener = new QueryStatsListener();
+
+    private void execute(String sql) {
+        List<QueryInfo> queries = List.of(new QueryInfo(sql));
+        this.listener.beforeQuery(new ExecutionInfo(), queries);
+        this.listener.afterQuery(new ExecutionInfo(), queries);
+    }
+
+    @Test
+    @DisplayName("요청 중에 실행된 SQL 수를 기록하고 디버그 헤더로 내려준다")
+    void recordStatementsPerRequest() throws Exception {
+        // given
+        RequestMetricsFilter filter = new RequestMetricsFilter(this.meterRegistry, 10, 1.0, true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/posts");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        filter.doFilter(request, response, (req, res) -> {
+            for (int i = 0; i < 3; i++) {
+                execute("select * from post where post_id = " + i);
+            }
+            res.getWriter().write("ok");
+        });
+
+        // then
+        DistributionSummary summary = this.meterRegistry.get("http.server.requests.db.statements")
+                .tag("handler", "none")
+                .tag("method", "GET")
+                .summary();
+        assertThat(summary.count()).isEqualTo(1L);
+        assertThat(summary.totalAmount()).isEqualTo(3.0);
+        assertThat(response.getHeader("X-Query-Count")).isEqualTo("3");
+        assertThat(response.getHeader("X-DB-Time")).isNotNull();
+        assertThat(response.getContentAsString()).isEqualTo("ok");
+        assertThat(QueryStats.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("같은 모양의 SQL이 기준을 넘게 반복되면 N+1로 집계한다")
+    void detectRepeatedShapes() throws Exception {
+        // given
+        RequestMetricsFilter filter = new RequestMetricsFilter(this.meterRegistry, 5, 1.0, false);
+
+        // when
+        filter.doFilter(new MockHttpServletRequest("GET", "/posts"), new MockHttpServletResponse(), (req, res) -> {
+            for (int i = 0; i < 6; i++) {
+                execute("select c.like_count from count c where c.post_id = " + i);
+            }
+        });
+
+        // then
+        assertThat(this.meterRegistry.get("http.server.requests.db.repeated").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("파라미터 값과 IN 목록 길이만 다른 SQL은 같은 모양으로 본다")
+    void normalizeShape() {
+        assertThat(SqlShape.of("/* load */ select * from  post where post_id = 1 and title = 'a''b'"))
+                .isEqualTo(SqlShape.of("select * from post where post_id = 42 and title = 'x'"));
+        assertThat(SqlShape.of("select * from image where post_id in (?, ?, ?)"))
+                .isEqualTo(SqlShape.of("select * from image where post_id in (?)"));
+    }
+
+    @Test
+    @DisplayName("요청 밖에서 실행된 SQL은 집계하지 않는다")
+    void ignoreStatementsOutsideRequest() {
+        // when
+        execute("select 1");
+
+        // then
+        assertThat(QueryStats.current()).isNull();
+    }
+}
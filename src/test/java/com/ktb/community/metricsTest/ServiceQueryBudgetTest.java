@@ -0,0 +1,154 @@
+package com.ktb.community.metricsTest;
+
+import com.ktb.community.counter.LikeCounter;
+import com.ktb.community.dto.response.CommentResponseDto;
+import com.ktb.community.entity.Comment;
+import com.ktb.community.entity.Count;
+import com.ktb.community.entity.Image;
+import com.ktb.community.entity.Post;
+import com.ktb.community.entity.User;
+import com.ktb.community.repository.CommentRepository;
+import com.ktb.community.repository.CountRepository;
+import com.ktb.community.repository.ImageRepository;
+import com.ktb.community.repository.PostRepository;
+import com.ktb.community.repository.UserRepository;
+import com.ktb.community.service.CommentService;
+import com.ktb.community.service.LikeService;
+import com.ktb.community.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("서비스 메서드 쿼리 수 상한 테스트")
+public class ServiceQueryBudgetTest {
+    // 작성자가 모두 다른 댓글/게시글을 만들어 두고, 건수가 늘어도 SQL 수가 상한을 넘지 않는지 확인
+    private static final int ROWS = 20;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private LikeCounter likeCounter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CountRepository countRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private List<User> users;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        // 테스트끼리 같은 DB를 쓰므로 매번 다른 이메일로 생성
+        String prefix = UUID.randomUUID().toString().substring(0, 8);
+        this.transactionTemplate.executeWithoutResult(status -> {
+            List<User> created = new ArrayList<>();
+            for (int i = 0; i < ROWS; i++) {
+                User user = new User();
+                user.setEmail(prefix + i + "@test.com");
+                user.setPassword("password");
+                user.setNickname(prefix + i);
+                created.add(this.userRepository.save(user));
+            }
+            this.users = created;
+
+            for (int i = 0; i < ROWS; i++) {
+                Post saved = new Post();
+                saved.setTitle("title" + i);
+                saved.setContent("content" + i);
+                saved.setUser(created.get(i));
+                this.post = this.postRepository.save(saved);
+
+                Count count = new Count();
+                count.setPost(this.post);
+                count.setLikeCount(0L);
+                count.setViewCount(0L);
+                count.setCommentCount(0L);
+                this.countRepository.save(count);
+            }
+
+            for (int i = 0; i < 3; i++) {
+                Image image = new Image();
+                image.setPost(this.post);
+                image.setDisplayOrder(i);
+                image.setUrl("https://image.test/" + i);
+                this.imageRepository.save(image);
+            }
+
+            for (User author : created) {
+                Comment comment = new Comment();
+                comment.setPost(this.post);
+                comment.setUser(author);
+                comment.setContent("comment");
+                this.commentRepository.save(comment);
+            }
+        });
+        this.likeCounter.createShards(this.post.getId());
+    }
+
+    @Test
+    @DisplayName("게시글 목록은 작성자가 모두 달라도 게시글 한 번, 작성자 한 번으로 조회하고, 작성자가 캐시되면 한 번으로 조회한다")
+    void postListBudget() {
+        QueryBudget.assertAtMost(2, () -> this.postService.getPostList(null, ROWS));
+        QueryBudget.assertAtMost(1, () -> this.postService.getPostList(null, ROWS));
+    }
+
+    @Test
+    @DisplayName("게시글 상세는 이미지 수와 상관없이 SQL 4번 이내로 조회한다")
+    void postDetailBudget() {
+        // 게시글, 작성자, 이미지, count
+        QueryBudget.assertAtMost(4, () -> this.postService.getPostContent(this.post.getId()));
+    }
+
+    @Test
+    @DisplayName("댓글 목록은 작성자가 모두 달라도 댓글 한 번, 작성자 한 번으로 조회하고, 작성자가 캐시되면 한 번으로 조회한다")
+    void commentListBudget() {
+        var page = QueryBudget.assertAtMost(2,
+                () -> this.commentService.getCommentList(this.post.getId(), null, ROWS, this.users.getFirst().getId()));
+        assertThat(page.getComments()).hasSize(ROWS);
+        assertThat(page.getComments()).extracting(CommentResponseDto::getAuthor).doesNotContainNull();
+        QueryBudget.assertAtMost(1,
+                () -> this.commentService.getCommentList(this.post.getId(), null, ROWS, this.users.getFirst().getId()));
+    }
+
+    @Test
+    @DisplayName("좋아요는 이미 눌린 좋아요 수와 상관없이 SQL 수가 일정하다")
+    void likeBudget() {
+        // 게시글, 유저, 좋아요 조회 + 좋아요 저장 + slot 증감
+        for (User user : this.users) {
+            QueryBudget.assertAtMost(6, () -> this.likeService.likePost(this.post.getId(), user.getId()));
+        }
+    }
+}
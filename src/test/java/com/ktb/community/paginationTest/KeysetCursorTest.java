@@ -0,0 +1,42 @@
+package com.ktb.community.paginationTest;
+
+import com.ktb.community.exception.custom.InvalidCursorException;
+import com.ktb.community.pagination.KeysetCursor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("keyset cursor 테스트")
+public class KeysetCursorTest {
+
+    @Test
+    @DisplayName("인코딩한 cursor를 디코딩하면 같은 정렬 키가 나온다")
+    void roundTrip() {
+        // given
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2025, 10, 1, 12, 30, 15, 123_456_000), 42L);
+
+        // when
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        // then
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("cursor가 없으면 첫 페이지로 본다")
+    void emptyCursorMeansFirstPage() {
+        assertThat(KeysetCursor.decode(null)).isNull();
+        assertThat(KeysetCursor.decode("")).isNull();
+    }
+
+    @Test
+    @DisplayName("잘못된 cursor는 InvalidCursorException을 던진다")
+    void invalidCursor() {
+        assertThatThrownBy(() -> KeysetCursor.decode("123")).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor!")).isInstanceOf(InvalidCursorException.class);
+    }
+}
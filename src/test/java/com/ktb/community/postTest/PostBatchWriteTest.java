@@ -0,0 +1,111 @@
+package com.ktb.community.postTest;
+
+import com.ktb.community.dto.request.CreatePostRequestDto;
+import com.ktb.community.dto.response.CrudPostResponseDto;
+import com.ktb.community.entity.User;
+import com.ktb.community.metricsTest.QueryBudget;
+import com.ktb.community.repository.CountRepository;
+import com.ktb.community.repository.ImageRepository;
+import com.ktb.community.repository.UserRepository;
+import com.ktb.community.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("게시글 배치 작성 테스트")
+public class PostBatchWriteTest {
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private CountRepository countRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setEmail(name + "@test.com");
+        user.setPassword("password");
+        user.setNickname(name);
+        this.author = this.userRepository.save(user);
+    }
+
+    private static CreatePostRequestDto request(String title, int images) {
+        CreatePostRequestDto dto = new CreatePostRequestDto();
+        ReflectionTestUtils.setField(dto, "title", title);
+        ReflectionTestUtils.setField(dto, "content", "content");
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < images; i++) {
+            urls.add("https://image.test/" + title + "/" + i);
+        }
+        ReflectionTestUtils.setField(dto, "images", urls);
+        return dto;
+    }
+
+    private int shardCount(Long postId) {
+        return this.jdbcTemplate.queryForObject("select count(*) from like_count_shard where post_id = ?", Integer.class, postId);
+    }
+
+    @Test
+    @DisplayName("이미지 수와 상관없이 post, image, count, slot을 테이블마다 한 번씩 저장한다")
+    void createPostUsesOneRoundTripPerTable() {
+        // when
+        CrudPostResponseDto created = QueryBudget.assertAtMost(4,
+                () -> this.postService.createPost(request("single", 10), this.author.getId()));
+
+        // then
+        assertThat(this.imageRepository.findByPostIdAndDeletedAtIsNullOrderByDisplayOrderAsc(created.getPostId()))
+                .extracting("displayOrder")
+                .containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(this.countRepository.findCountViewByPostId(created.getPostId())).isPresent();
+        assertThat(shardCount(created.getPostId())).isPositive();
+    }
+
+    @Test
+    @DisplayName("여러 게시글도 게시글 수와 상관없이 같은 왕복 수로 저장하고 id를 입력 순서대로 돌려준다")
+    void createPostsInBatch() {
+        // given
+        List<CreatePostRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            requests.add(request("bulk" + i, i % 3));
+        }
+
+        // when
+        List<CrudPostResponseDto> created = QueryBudget.assertAtMost(4,
+                () -> this.postService.createPosts(requests, this.author.getId()));
+
+        // then
+        assertThat(created).hasSize(30);
+        for (int i = 0; i < created.size(); i++) {
+            Long postId = created.get(i).getPostId();
+            String title = this.jdbcTemplate.queryForObject("select title from post where post_id = ?", String.class, postId);
+            assertThat(title).isEqualTo("bulk" + i);
+            assertThat(this.imageRepository.findByPostIdAndDeletedAtIsNull(postId)).hasSize(i % 3);
+            assertThat(this.countRepository.findCountViewByPostId(postId)).isPresent();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.ktb.community.postTest;
+
+import com.ktb.community.cache.AuthorCache;
+import com.ktb.community.cache.FeedCache;
+import com.ktb.community.cache.PostDetailCache;
+import com.ktb.community.counter.CountWriteBehind;
+import com.ktb.community.counter.LikeCounter;
+import com.ktb.community.dto.response.CursorPageResponseDto;
+import com.ktb.community.dto.response.PostResponseDto;
+import com.ktb.community.entity.Count;
+import com.ktb.community.entity.Post;
+import com.ktb.community.entity.User;
+import com.ktb.community.maintenance.PostCascadeDeleter;
+import com.ktb.community.pagination.KeysetCursor;
+import com.ktb.community.repository.PostBatchWriter;
+import com.ktb.community.search.PostSearchIndex;
+import com.ktb.community.service.PostService;
+import com.ktb.community.trending.TrendingRanker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PostService.class, AuthorCache.class, SimpleMeterRegistry.class})
+@DisplayName("게시글 목록 쿼리 수 테스트")
+public class PostServiceQueryCountTest {
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private FeedCache feedCache;
+
+    @MockitoBean
+    private PostDetailCache postDetailCache;
+
+    @MockitoBean
+    private CountWriteBehind countWriteBehind;
+
+    @MockitoBean
+    private LikeCounter likeCounter;
+
+    @MockitoBean
+    private PostBatchWriter postBatchWriter;
+
+    @MockitoBean
+    private PostCascadeDeleter postCascadeDeleter;
+
+    @MockitoBean
+    private PostSearchIndex postSearchIndex;
+
+    @MockitoBean
+    private TrendingRanker trendingRanker;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // 작성자가 모두 다른 게시글 30개를 준비
+        for (int i = 0; i < 30; i++) {
+            User user = new User();
+            user.setEmail("user" + i + "@test.com");
+            user.setPassword("password");
+            user.setNickname("user" + i);
+            this.testEntityManager.persist(user);
+
+            Post post = new Post();
+            post.setTitle("title" + i);
+            post.setContent("content" + i);
+            post.setUser(user);
+            this.testEntityManager.persist(post);
+
+            Count count = new Count();
+            count.setPost(post);
+            count.setLikeCount((long) i);
+            count.setViewCount(0L);
+            count.setCommentCount(0L);
+            this.testEntityManager.persist(count);
+        }
+        this.testEntityManager.flush();
+        this.testEntityManager.clear();
+
+        this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private long countStatements(String cursor, int size) {
+        this.testEntityManager.clear();
+        this.statistics.clear();
+        CursorPageResponseDto<PostResponseDto> page = this.postService.getPostList(cursor, size);
+        assertThat(page.getPosts()).hasSize(size);
+        return this.statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("페이지 크기가 커져도 게시글 목록 조회 쿼리 수는 일정하다")
+    void postListStatementCountIsConstant() {
+        // given & when
+        long small = countStatements(null, 5);
+        long large = countStatements(null, 20);
+
+        // then
+        // 게시글 + count를 프로젝션 한 번으로 조회하고, 캐시에 없는 작성자는 IN 쿼리 한 번으로 조회
+        assertThat(small).isEqualTo(2);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    @DisplayName("게시글 목록 조회는 엔티티를 영속성 컨텍스트에 올리지 않는다")
+    void postListLoadsNoEntities() {
+        // when
+        countStatements(null, 20);
+
+        // then
+        assertThat(this.statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("다음 페이지 조회도 쿼리 수가 일정하다")
+    void nextPageStatementCountIsConstant() {
+        // given
+        // 모든 게시글보다 뒤의 cursor로 cursor 조회 쿼리 경로를 검증
+        String cursor = new KeysetCursor(LocalDateTime.now().plusDays(1), Long.MAX_VALUE).encode();
+
+        // when
+        long small = countStatements(cursor, 5);
+        long large = countStatements(cursor, 20);
+
+        // then
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    @DisplayName("created_at이 같은 게시글이 있어도 cursor로 넘기면 빠짐없이 중복 없이 조회된다")
+    void pagesCoverEveryPostOnce() {
+        // given
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        boolean hasNext = true;
+
+        // when
+        while (hasNext) {
+            CursorPageResponseDto<PostResponseDto> page = this.postService.getPostList(cursor, 7);
+            page.getPosts().forEach(post -> assertThat(seen.add(post.getId())).isTrue());
+            cursor = page.getNextCursor();
+            hasNext = page.getHasNext();
+        }
+
+        // then
+        assertThat(seen).hasSize(30);
+    }
+}
@@ -0,0 +1,163 @@
+package com.ktb.community.searchTest;
+
+import com.ktb.community.search.PostSearchIndex;
+import com.ktb.community.search.SearchCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("게시글 검색 색인 테스트")
+public class PostSearchIndexTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PostSearchIndex index = new PostSearchIndex(this.jdbcTemplate, this.meterRegistry, Runnable::run, 100);
+
+    private List<Long> search(String query) {
+        return this.index.search(query, null, 50).hits().stream().map(PostSearchIndex.Hit::postId).toList();
+    }
+
+    @Test
+    @DisplayName("한글은 조사가 붙어 있어도 찾고, 모든 검색어를 포함한 게시글만 반환한다")
+    void matchKoreanBigramsWithAndSemantics() {
+        // given
+        this.index.indexAfterCommit(1L, "스프링부트 시작하기", "JPA와 함께 쓰는 방법");
+        this.index.indexAfterCommit(2L, "자바 기초", "스프링을 배우기 전에");
+        this.index.indexAfterCommit(3L, "Spring Boot", "스프링부트로 만드는 커뮤니티");
+
+        // when & then
+        assertThat(search("스프링부트")).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(search("스프링")).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(search("jpa")).containsExactly(1L);
+        assertThat(search("spring 커뮤니티")).containsExactly(3L);
+        assertThat(search("없는단어")).isEmpty();
+        assertThat(search("  !! ")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("제목에 나온 게시글이 내용에만 나온 게시글보다 앞에 온다")
+    void rankTitleMatchesFirst() {
+        // given
+        this.index.indexAfterCommit(1L, "일상 이야기", "오늘은 검색 기능을 만들었다");
+        this.index.indexAfterCommit(2L, "검색 기능 후기", "만들어 보니 재미있었다");
+
+        // when & then
+        assertThat(search("검색")).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("수정/삭제가 바로 검색 결과에 반영된다")
+    void reflectModificationAndRemoval() {
+        // given
+        this.index.indexAfterCommit(1L, "첫 번째 글", "안녕하세요");
+        this.index.indexAfterCommit(2L, "두 번째 글", "반갑습니다");
+        this.index.indexAfterCommit(3L, "세 번째 글", "안녕하세요");
+
+        // when
+        this.index.updateAfterCommit(1L, "첫 번째 글", "안녕하세요", "첫 번째 글", "수정했습니다");
+        this.index.removeAfterCommit(2L, "두 번째 글", "반갑습니다");
+        this.index.markRemovedAfterCommit(3L);
+
+        // then
+        assertThat(search("안녕하세요")).isEmpty();
+        assertThat(search("수정")).containsExactly(1L);
+        assertThat(search("반갑습니다")).isEmpty();
+        assertThat(search("번째")).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("길이가 크게 다른 posting list도 skip pointer로 건너뛰며 교집합을 정확히 구한다")
+    void intersectListsAcrossSkipBlocks() {
+        // given
+        for (long postId = 1; postId <= 5_000; postId++) {
+            StringBuilder content = new StringBuilder("common");
+            if (postId % 3 == 0) {
+                content.append(" three");
+            }
+            if (postId % 250 == 0) {
+                content.append(" rare");
+            }
+            this.index.indexAfterCommit(postId, "title", content.toString());
+        }
+
+        // when
+        List<Long> hits = this.index.search("rare three common", null, 100).hits().stream()
+                .map(PostSearchIndex.Hit::postId)
+                .sorted()
+                .toList();
+
+        // then
+        assertThat(hits).containsExactly(750L, 1500L, 2250L, 3000L, 3750L, 4500L);
+    }
+
+    @Test
+    @DisplayName("색인을 만드는 동안 커밋된 변경은 먼저 읽힌 이전 내용에 덮어쓰이지 않고, 같은 게시글을 두 번 세지 않는다")
+    void applyEditsCommittedDuringBuildAfterIt() {
+        // given
+        // 색인이 1, 2번 게시글의 이전 내용을 읽은 직후 수정/삭제/작성이 커밋됨
+        when(this.jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any())).thenAnswer(invocation -> {
+            this.index.updateAfterCommit(1L, "이전 제목", "이전 내용", "새 제목", "새 내용");
+            this.index.removeAfterCommit(2L, "삭제될 글", "내용");
+            this.index.indexAfterCommit(3L, "새 글", "내용");
+            return List.<Object[]>of(
+                    new Object[]{1L, "이전 제목", "이전 내용"},
+                    new Object[]{2L, "삭제될 글", "내용"},
+                    new Object[]{3L, "새 글", "내용"});
+        });
+
+        // when
+        this.index.build();
+
+        // then
+        assertThat(this.index.isReady()).isTrue();
+        assertThat(search("이전")).isEmpty();
+        assertThat(search("새 제목")).containsExactly(1L);
+        assertThat(search("삭제")).isEmpty();
+        assertThat(search("내용")).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(this.meterRegistry.get("post.search.documents").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("cursor로 넘기면 점수가 같은 게시글도 빠짐없이 중복 없이 조회된다")
+    void pagesCoverEveryHitOnce() {
+        // given
+        // 일부는 id 역순으로 넣어서 posting list 중간 삽입 경로도 함께 확인
+        for (long postId = 1; postId <= 40; postId++) {
+            this.index.indexAfterCommit(postId, "공지", postId % 2 == 0 ? "공지 공지" : "내용");
+        }
+        for (long postId = 60; postId > 40; postId--) {
+            this.index.indexAfterCommit(postId, "공지", "내용");
+        }
+
+        // when
+        Set<Long> seen = new HashSet<>();
+        List<Double> scores = new ArrayList<>();
+        SearchCursor cursor = null;
+        boolean hasNext = true;
+        while (hasNext) {
+            PostSearchIndex.SearchResult page = this.index.search("공지", cursor, 7);
+            page.hits().forEach(hit -> {
+                assertThat(seen.add(hit.postId())).isTrue();
+                scores.add(hit.score());
+            });
+            cursor = page.nextCursor() == null ? null : SearchCursor.decode(page.nextCursor().encode());
+            hasNext = page.hasNext();
+        }
+
+        // then
+        assertThat(seen).hasSize(60);
+        assertThat(scores).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+    }
+}
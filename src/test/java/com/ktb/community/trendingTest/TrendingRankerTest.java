@@ -0,0 +1,87 @@
+package com.ktb.community.trendingTest;
+
+import com.ktb.community.trending.TrendEvent;
+import com.ktb.community.trending.TrendingRanker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("인기 게시글 순위 테스트")
+public class TrendingRankerTest {
+    private static final long HOUR = 60 * 60 * 1000L;
+    private static final long NOW = Instant.parse("2026-03-01T00:00:00Z").toEpochMilli();
+
+    // 반감기 1시간, 좋아요 3 / 댓글 5 / 조회 0.5
+    private final TrendingRanker ranker = new TrendingRanker(null, null, new SimpleMeterRegistry(), HOUR, 100, 3.0, 5.0, 0.5);
+
+    @Test
+    @DisplayName("가중치 합이 큰 게시글이 먼저 오고, 상위 K개만 반환한다")
+    void rankByWeightedEvents() {
+        // given
+        this.ranker.record(1L, TrendEvent.VIEW, 1, NOW);
+        this.ranker.record(2L, TrendEvent.LIKE, 1, NOW);
+        this.ranker.record(3L, TrendEvent.COMMENT, 1, NOW);
+        this.ranker.record(3L, TrendEvent.LIKE, 1, NOW);
+
+        // when & then
+        assertThat(this.ranker.top(10)).containsExactly(3L, 2L, 1L);
+        assertThat(this.ranker.top(2)).containsExactly(3L, 2L);
+        assertThat(this.ranker.currentScore(3L, NOW)).isCloseTo(8.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("점수는 반감기마다 절반으로 줄어들어, 오래된 이벤트는 최근 이벤트보다 뒤로 밀린다")
+    void decayOverTime() {
+        // given: 2시간 전 좋아요 2개(=6) vs 방금 좋아요 1개(=3)
+        this.ranker.record(1L, TrendEvent.LIKE, 2, NOW - 2 * HOUR);
+        this.ranker.record(2L, TrendEvent.LIKE, 1, NOW);
+
+        // when & then
+        assertThat(this.ranker.currentScore(1L, NOW)).isCloseTo(1.5, within(1e-9));
+        assertThat(this.ranker.currentScore(1L, NOW + HOUR)).isCloseTo(0.75, within(1e-9));
+        assertThat(this.ranker.top(10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("좋아요 취소는 점수를 되돌리고, 점수가 0이 되거나 게시글이 삭제되면 순위에서 빠진다")
+    void decrementAndRemove() {
+        // given
+        this.ranker.record(1L, TrendEvent.LIKE, 1, NOW);
+        this.ranker.record(1L, TrendEvent.COMMENT, 1, NOW);
+        this.ranker.record(2L, TrendEvent.LIKE, 1, NOW);
+        this.ranker.record(3L, TrendEvent.VIEW, 1, NOW);
+
+        // when
+        this.ranker.record(1L, TrendEvent.COMMENT, -1, NOW);
+        this.ranker.record(2L, TrendEvent.LIKE, -1, NOW);
+        this.ranker.record(4L, TrendEvent.LIKE, -1, NOW);
+        this.ranker.removeAfterCommit(3L);
+
+        // then
+        assertThat(this.ranker.currentScore(1L, NOW)).isCloseTo(3.0, within(1e-9));
+        assertThat(this.ranker.top(10)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("감소 이벤트는 원래 이벤트 시각의 가중치를 빼서 다른 이벤트의 점수를 지우지 않고, 0 아래로 내려가지 않는다")
+    void decrementUsesOriginalEventTime() {
+        // given: 2시간 전 댓글 1개(=5)와 좋아요 1개(=3)
+        this.ranker.record(1L, TrendEvent.COMMENT, 1, NOW - 2 * HOUR);
+        this.ranker.record(1L, TrendEvent.LIKE, 1, NOW - 2 * HOUR);
+        this.ranker.record(2L, TrendEvent.LIKE, 1, NOW - 2 * HOUR);
+
+        // when
+        this.ranker.record(1L, TrendEvent.LIKE, -1, NOW - 2 * HOUR);
+        this.ranker.record(2L, TrendEvent.LIKE, -2, NOW);
+
+        // then
+        assertThat(this.ranker.currentScore(1L, NOW)).isCloseTo(1.25, within(1e-9));
+        assertThat(this.ranker.currentScore(2L, NOW)).isZero();
+        assertThat(this.ranker.top(10)).containsExactly(1L);
+    }
+}
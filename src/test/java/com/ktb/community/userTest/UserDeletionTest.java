@@ -0,0 +1,259 @@
+package com.ktb.community.userTest;
+
+import com.ktb.community.cache.AuthorCache;
+import com.ktb.community.counter.CountWriteBehind;
+import com.ktb.community.dto.request.CreateCommentRequestDto;
+import com.ktb.community.dto.request.CreatePostRequestDto;
+import com.ktb.community.entity.Comment;
+import com.ktb.community.entity.Post;
+import com.ktb.community.entity.Refresh;
+import com.ktb.community.entity.User;
+import com.ktb.community.entity.UserDeletionJob;
+import com.ktb.community.maintenance.UserDeletionWorker;
+import com.ktb.community.repository.CommentRepository;
+import com.ktb.community.repository.CountRepository;
+import com.ktb.community.repository.PostRepository;
+import com.ktb.community.repository.RefreshRepository;
+import com.ktb.community.repository.UserDeletionJobRepository;
+import com.ktb.community.repository.UserRepository;
+import com.ktb.community.service.CommentService;
+import com.ktb.community.service.CustomUserDetailService;
+import com.ktb.community.service.LikeService;
+import com.ktb.community.service.PostService;
+import com.ktb.community.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "user.deletion.chunk-size=3",
+        "user.deletion.pause-ms=0"
+})
+@ActiveProfiles("test")
+@DisplayName("회원 탈퇴 작업 테스트")
+public class UserDeletionTest {
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private CustomUserDetailService customUserDetailService;
+
+    @Autowired
+    private UserDeletionWorker userDeletionWorker;
+
+    @Autowired
+    private UserDeletionJobRepository userDeletionJobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private CountRepository countRepository;
+
+    @Autowired
+    private RefreshRepository refreshRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuthorCache authorCache;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CountWriteBehind countWriteBehind;
+
+    private User createUser() {
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setEmail(name + "@test.com");
+        user.setPassword("password");
+        user.setNickname(name);
+        return this.userRepository.save(user);
+    }
+
+    private Long createPost(User author, int images) {
+        CreatePostRequestDto dto = new CreatePostRequestDto();
+        ReflectionTestUtils.setField(dto, "title", "title");
+        ReflectionTestUtils.setField(dto, "content", "content");
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < images; i++) {
+            urls.add("https://image.test/" + i);
+        }
+        ReflectionTestUtils.setField(dto, "images", urls);
+        return this.postService.createPost(dto, author.getId()).getPostId();
+    }
+
+    private void comment(User author, Long postId) {
+        Comment comment = new Comment();
+        comment.setUser(author);
+        comment.setPost(this.postRepository.getReferenceById(postId));
+        comment.setContent("comment");
+        this.commentRepository.save(comment);
+    }
+
+    private Long reply(User author, Long postId, Long parentId) {
+        CreateCommentRequestDto dto = new CreateCommentRequestDto("comment", parentId);
+        return this.commentService.writeComment(postId, author.getId(), dto).getCommentId();
+    }
+
+    private int live(String sql, Object... args) {
+        return this.jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+
+    // 백그라운드 작업이 끝날 때까지 대기
+    private UserDeletionJob awaitCompletion(Long userId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            UserDeletionJob job = this.userDeletionJobRepository.findByUserId(userId).orElse(null);
+            if (job != null && job.getCompletedAt() != null) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("User deletion job did not finish in time");
+    }
+
+    @Test
+    @DisplayName("탈퇴하면 바로 인증이 막히고, 게시글/댓글/좋아요/refresh token이 백그라운드에서 모두 정리된다")
+    void removeUserCascadesInBackground() throws Exception {
+        // given
+        User leaving = createUser();
+        User other = createUser();
+        List<Long> ownPosts = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Long postId = createPost(leaving, 2);
+            ownPosts.add(postId);
+            comment(other, postId);
+        }
+        List<Long> otherPosts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Long postId = createPost(other, 0);
+            otherPosts.add(postId);
+            comment(leaving, postId);
+            this.likeService.likePost(postId, leaving.getId());
+        }
+        for (int i = 0; i < 4; i++) {
+            Refresh refresh = new Refresh();
+            refresh.setUser(leaving);
+            refresh.setRefreshToken("leaving-" + leaving.getId() + "-" + i);
+            refresh.setExpirationAt(LocalDateTime.now().plusDays(7));
+            this.refreshRepository.save(refresh);
+        }
+
+        // when
+        this.userService.removeUser(leaving.getEmail());
+
+        // then
+        assertThatThrownBy(() -> this.customUserDetailService.loadUserByUsername(leaving.getEmail()))
+                .isInstanceOf(UsernameNotFoundException.class);
+
+        UserDeletionJob job = awaitCompletion(leaving.getId());
+        assertThat(job.getPhase()).isEqualTo(UserDeletionJob.Phase.DONE);
+
+        Long userId = leaving.getId();
+        assertThat(live("select count(*) from post where user_id = ? and deleted_at is null", userId)).isZero();
+        assertThat(live("select count(*) from comment where user_id = ? and deleted_at is null", userId)).isZero();
+        assertThat(live("select count(*) from `like` where user_id = ? and deleted_at is null", userId)).isZero();
+        assertThat(live("select count(*) from refresh where user_id = ?", userId)).isZero();
+        for (Long postId : ownPosts) {
+            assertThat(live("select count(*) from comment where post_id = ? and deleted_at is null", postId)).isZero();
+            assertThat(live("select count(*) from image where post_id = ? and deleted_at is null", postId)).isZero();
+        }
+        for (Long postId : otherPosts) {
+            assertThat(this.countRepository.findCountViewByPostId(postId).orElseThrow().likeCount()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("탈퇴한 사용자의 댓글 아래에 달린 다른 사용자의 답글도 함께 삭제되고, 댓글 수와 답글 수에서 빠진다")
+    void removeUserCascadesReplies() throws Exception {
+        // given
+        User leaving = createUser();
+        User other = createUser();
+        Long postId = createPost(other, 0);
+        Long leavingTop = reply(leaving, postId, null);
+        reply(other, postId, leavingTop);
+        Long otherTop = reply(other, postId, null);
+        Long leavingReply = reply(leaving, postId, otherTop);
+        reply(other, postId, leavingReply);
+        reply(other, postId, otherTop);
+
+        // when
+        this.userService.removeUser(leaving.getEmail());
+        awaitCompletion(leaving.getId());
+        this.countWriteBehind.flushOnShutdown();
+
+        // then
+        assertThat(live("select count(*) from comment where post_id = ? and deleted_at is null", postId)).isEqualTo(2);
+        assertThat(live("select reply_count from comment where comment_id = ?", otherTop)).isEqualTo(1);
+        assertThat(this.countRepository.findCountViewByPostId(postId).orElseThrow().commentCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("탈퇴하면 캐시에 남아 있던 작성자 정보도 바로 조회되지 않는다")
+    void removeUserInvalidatesAuthorCache() {
+        // given
+        User leaving = createUser();
+        assertThat(this.authorCache.get(leaving.getId()).nickname()).isEqualTo(leaving.getNickname());
+
+        // when
+        this.userService.removeUser(leaving.getEmail());
+
+        // then
+        assertThat(this.authorCache.get(leaving.getId())).isNull();
+    }
+
+    @Test
+    @DisplayName("중간에 멈춘 작업은 저장된 phase부터 이어서 처리한다")
+    void resumeFromCheckpoint() throws Exception {
+        // given
+        // 게시글 phase까지 끝난 뒤 서버가 내려간 상황
+        User leaving = createUser();
+        User other = createUser();
+        Long ownPost = createPost(leaving, 0);
+        for (int i = 0; i < 4; i++) {
+            comment(leaving, createPost(other, 0));
+        }
+        leaving.setDeletedAt(LocalDateTime.now());
+        this.userRepository.save(leaving);
+        UserDeletionJob job = new UserDeletionJob(leaving.getId());
+        job.setPhase(UserDeletionJob.Phase.COMMENTS);
+        this.userDeletionJobRepository.save(job);
+
+        // when
+        this.userDeletionWorker.resumeUnfinished();
+
+        // then
+        awaitCompletion(leaving.getId());
+        assertThat(live("select count(*) from comment where user_id = ? and deleted_at is null", leaving.getId())).isZero();
+        // 이미 지난 phase는 다시 실행하지 않음
+        assertThat(live("select count(*) from post where post_id = ? and deleted_at is null", ownPost)).isEqualTo(1);
+    }
+}